@@ -0,0 +1,29 @@
+#!/usr/bin/env bash
+# Downloads the JMH jars that run.sh builds against into lib/.
+
+set -e
+cd "$(dirname "$0")"
+
+repository=https://repo1.maven.org/maven2
+jmh_version=1.37
+
+artifacts=(
+    "org/openjdk/jmh/jmh-core/${jmh_version}/jmh-core-${jmh_version}.jar jmh-core.jar"
+    "org/openjdk/jmh/jmh-generator-annprocess/${jmh_version}/jmh-generator-annprocess-${jmh_version}.jar jmh-generator-annprocess.jar"
+    "net/sf/jopt-simple/jopt-simple/5.0.4/jopt-simple-5.0.4.jar jopt-simple.jar"
+    "org/apache/commons/commons-math3/3.6.1/commons-math3-3.6.1.jar commons-math3.jar"
+)
+
+mkdir -p lib
+for artifact in "${artifacts[@]}"; do
+    read -r path name <<< "${artifact}"
+    curl -fsSL -o "lib/${name}" "${repository}/${path}"
+    expected=$(curl -fsSL "${repository}/${path}.sha1" | cut -c1-40)
+    actual=$(sha1sum "lib/${name}" | cut -c1-40)
+    if [ "${expected}" != "${actual}" ]; then
+        rm -f "lib/${name}"
+        echo "Checksum mismatch for ${path}" >&2
+        exit 1
+    fi
+    echo "lib/${name}"
+done
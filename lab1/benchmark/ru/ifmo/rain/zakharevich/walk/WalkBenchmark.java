@@ -0,0 +1,190 @@
+package ru.ifmo.rain.zakharevich.walk;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class WalkBenchmark {
+
+    private final static int FNV_32_PRIME = 16777619;
+    private final static int FNV_32_INITIAL_VALUE = (int) 2166136261L;
+    private final static int FNV_32_BIT_MASK = 255;
+
+    private final static long SEED = 3141592653L;
+
+    public enum FileSet {
+        SMALL_RANDOM(1000, 20, 100),
+        MEDIUM_RANDOM(1000, 1 << 10, 1 << 16),
+        LARGE_RANDOM(50, 50 << 10, 1 << 20),
+        VERY_LARGE(1, 64 << 20, 64 << 20);
+
+        private final int count;
+        private final int minSize;
+        private final int maxSize;
+
+        FileSet(int count, int minSize, int maxSize) {
+            this.count = count;
+            this.minSize = minSize;
+            this.maxSize = maxSize;
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class GeneratedFiles {
+        @Param({"SMALL_RANDOM", "MEDIUM_RANDOM", "LARGE_RANDOM", "VERY_LARGE"})
+        public FileSet fileSet;
+
+        private Path directory;
+        private List<String> fileNames;
+
+        @Setup(Level.Trial)
+        public void generate() throws IOException {
+            directory = Files.createTempDirectory("walk-benchmark");
+            fileNames = new ArrayList<>(fileSet.count);
+            Random random = new Random(SEED);
+            for (int i = 0; i < fileSet.count; i++) {
+                byte[] content = new byte[fileSet.minSize + random.nextInt(fileSet.maxSize - fileSet.minSize + 1)];
+                random.nextBytes(content);
+                Path file = directory.resolve("file" + i);
+                Files.write(file, content);
+                fileNames.add(file.toString());
+            }
+        }
+
+        @TearDown(Level.Trial)
+        public void delete() throws IOException {
+            try (Stream<Path> paths = Files.walk(directory)) {
+                for (Path path : (Iterable<Path>) paths.sorted(Comparator.reverseOrder())::iterator) {
+                    Files.delete(path);
+                }
+            }
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class NioReader {
+        @Param({"1024", "8192", "65536", "262144", "1048576"})
+        public int bufferSize;
+
+        @Param({"fnv", "crc32c", "xxhash64"})
+        public String algorithm;
+
+        private FileHasher fileHasher;
+
+        @Setup(Level.Trial)
+        public void create() {
+            fileHasher = new FileHasher(HashAlgorithm.forName(algorithm), bufferSize, null);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class StreamReader {
+        @Param({"1024", "8192", "65536", "262144", "1048576"})
+        public int bufferSize;
+
+        private byte[] buffer;
+
+        @Setup(Level.Trial)
+        public void create() {
+            buffer = new byte[bufferSize];
+        }
+
+        private static int findHash(int hashValue, byte[] buf, int length) {
+            for (int i = 0; i < length; ++i) {
+                hashValue *= FNV_32_PRIME;
+                hashValue ^= buf[i] & FNV_32_BIT_MASK;
+            }
+            return hashValue;
+        }
+
+        int findFileHash(String fileName) {
+            try (InputStream is = new FileInputStream(fileName)) {
+                int currentHash = FNV_32_INITIAL_VALUE;
+                int length;
+                while ((length = is.read(buffer)) != -1) {
+                    currentHash = findHash(currentHash, buffer, length);
+                }
+                return currentHash;
+            } catch (IOException e) {
+                return 0;
+            }
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class MemoryBuffer {
+        @Param({"fnv", "crc32c", "xxhash64"})
+        public String algorithm;
+
+        @Param({"1048576"})
+        public int size;
+
+        private Hasher hasher;
+        private ByteBuffer buffer;
+
+        @Setup(Level.Trial)
+        public void create() {
+            hasher = HashAlgorithm.forName(algorithm).newHasher();
+            byte[] content = new byte[size];
+            new Random(SEED).nextBytes(content);
+            buffer = ByteBuffer.allocateDirect(size);
+            buffer.put(content).flip();
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class Pipeline {
+        @Param({"1", "2", "4", "8"})
+        public int threads;
+    }
+
+    @Benchmark
+    public String hashBuffer(MemoryBuffer state) {
+        state.hasher.reset();
+        state.hasher.update(state.buffer.duplicate());
+        return state.hasher.digest();
+    }
+
+    @Benchmark
+    public void readStream(GeneratedFiles files, StreamReader reader, Blackhole blackhole) {
+        for (String fileName : files.fileNames) {
+            blackhole.consume(reader.findFileHash(fileName));
+        }
+    }
+
+    @Benchmark
+    public void readNio(GeneratedFiles files, NioReader reader, Blackhole blackhole) {
+        for (String fileName : files.fileNames) {
+            blackhole.consume(reader.fileHasher.findFileHash(fileName));
+        }
+    }
+
+    @Benchmark
+    public void walk(GeneratedFiles files, Pipeline pipeline) throws IOException {
+        ThreadLocal<FileHasher> fileHasher = ThreadLocal.withInitial(() -> new FileHasher(HashAlgorithm.FNV));
+        try (WalkPipeline walkPipeline = new WalkPipeline(Writer.nullWriter(),
+                fileName -> fileHasher.get().findFileHash(fileName), pipeline.threads)) {
+            for (String fileName : files.fileNames) {
+                walkPipeline.submit(fileName);
+            }
+        }
+    }
+}
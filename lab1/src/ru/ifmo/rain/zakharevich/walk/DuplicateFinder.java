@@ -0,0 +1,111 @@
+package ru.ifmo.rain.zakharevich.walk;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+class DuplicateFinder implements FileNameSink {
+
+    private final static int PREFIX_BYTE_SIZE = 1 << 12;
+
+    private final Supplier<FileHasher> fileHasher;
+    private final HashCache cache;
+    private final int threads;
+    private final Map<Long, List<String>> filesBySize = new HashMap<>();
+
+    DuplicateFinder(Supplier<FileHasher> fileHasher, HashCache cache, int threads) {
+        this.fileHasher = fileHasher;
+        this.cache = cache;
+        this.threads = threads;
+    }
+
+    @Override
+    public void submit(String fileName) {
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(Paths.get(fileName), BasicFileAttributes.class);
+            if (attributes.isRegularFile()) {
+                filesBySize.computeIfAbsent(attributes.size(), size -> new ArrayList<>()).add(fileName);
+            }
+        } catch (IOException | InvalidPathException ignored) {
+        }
+    }
+
+    private Map<String, List<String>> groupByHash(List<String> files, Function<String, Optional<String>> hashFunction,
+                                                  ExecutorService executor) throws IOException {
+        List<Future<Optional<String>>> hashes = new ArrayList<>(files.size());
+        for (String file : files) {
+            hashes.add(executor.submit(() -> hashFunction.apply(file)));
+        }
+
+        Map<String, List<String>> groups = new LinkedHashMap<>();
+        for (int i = 0; i < files.size(); i++) {
+            Optional<String> hash;
+            try {
+                hash = hashes.get(i).get();
+            } catch (ExecutionException e) {
+                throw new IOException("Unable to hash " + files.get(i), e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while hashing " + files.get(i));
+            }
+            if (hash.isPresent()) {
+                groups.computeIfAbsent(hash.get(), h -> new ArrayList<>()).add(files.get(i));
+            }
+        }
+        groups.values().removeIf(group -> group.size() < 2);
+        return groups;
+    }
+
+    private static void writeGroups(Writer writer, Map<String, List<String>> groups) throws IOException {
+        for (Map.Entry<String, List<String>> group : groups.entrySet()) {
+            for (String file : group.getValue()) {
+                writer.write(group.getKey() + " " + file + "\n");
+            }
+            writer.write("\n");
+        }
+    }
+
+    void writeDuplicates(Writer writer) throws IOException {
+        Function<String, Optional<String>> prefixHashFunction =
+                fileName -> fileHasher.get().hashFilePrefix(fileName, PREFIX_BYTE_SIZE);
+        Function<String, Optional<String>> hashFunction = fileName -> fileHasher.get().hashFile(fileName, cache);
+
+        List<Long> sizes = filesBySize.entrySet().stream()
+                .filter(entry -> entry.getValue().size() > 1)
+                .map(Map.Entry::getKey)
+                .sorted(Comparator.reverseOrder())
+                .collect(Collectors.toList());
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            for (long size : sizes) {
+                List<String> files = filesBySize.get(size).stream().distinct().collect(Collectors.toList());
+                if (files.size() < 2) {
+                    continue;
+                }
+                Map<String, List<String>> prefixGroups = groupByHash(files, prefixHashFunction, executor);
+                if (size <= PREFIX_BYTE_SIZE) {
+                    writeGroups(writer, prefixGroups);
+                    continue;
+                }
+                for (List<String> prefixGroup : prefixGroups.values()) {
+                    writeGroups(writer, groupByHash(prefixGroup, hashFunction, executor));
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
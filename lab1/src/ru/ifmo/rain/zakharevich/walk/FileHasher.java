@@ -0,0 +1,131 @@
+package ru.ifmo.rain.zakharevich.walk;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Optional;
+
+class FileHasher {
+
+    final static int DEFAULT_BUFFER_BYTE_SIZE = 1 << 18;
+
+    private final static long MAPPED_FILE_THRESHOLD = 1L << 30;
+    private final static long MAPPED_CHUNK_BYTE_SIZE = 1L << 28;
+
+    private final HashAlgorithm algorithm;
+    private final Hasher hasher;
+    private final ByteBuffer buffer;
+    private final WalkStatistics statistics;
+    private long byteCount;
+
+    FileHasher(HashAlgorithm algorithm) {
+        this(algorithm, DEFAULT_BUFFER_BYTE_SIZE, null);
+    }
+
+    FileHasher(HashAlgorithm algorithm, WalkStatistics statistics) {
+        this(algorithm, DEFAULT_BUFFER_BYTE_SIZE, statistics);
+    }
+
+    FileHasher(HashAlgorithm algorithm, int bufferByteSize, WalkStatistics statistics) {
+        this.algorithm = algorithm;
+        this.hasher = algorithm.newHasher();
+        this.buffer = ByteBuffer.allocateDirect(bufferByteSize);
+        this.statistics = statistics;
+    }
+
+    private void updateFromChannel(FileChannel channel, long maxBytes) throws IOException {
+        long remaining = maxBytes;
+        while (remaining > 0) {
+            buffer.clear();
+            buffer.limit((int) Math.min(buffer.capacity(), remaining));
+            int length = channel.read(buffer);
+            if (length == -1) {
+                break;
+            }
+            buffer.flip();
+            hasher.update(buffer);
+            remaining -= length;
+            byteCount += length;
+        }
+    }
+
+    private void updateFromMappedChunks(FileChannel channel, long size) throws IOException {
+        for (long position = 0; position < size; position += MAPPED_CHUNK_BYTE_SIZE) {
+            long chunkSize = Math.min(MAPPED_CHUNK_BYTE_SIZE, size - position);
+            hasher.update(channel.map(FileChannel.MapMode.READ_ONLY, position, chunkSize));
+            byteCount += chunkSize;
+        }
+    }
+
+    private String findPathHash(Path path, long maxBytes) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = Math.min(channel.size(), maxBytes);
+            hasher.reset();
+            if (size >= MAPPED_FILE_THRESHOLD) {
+                updateFromMappedChunks(channel, size);
+            } else {
+                updateFromChannel(channel, maxBytes);
+            }
+            return hasher.digest();
+        }
+    }
+
+    private String findPathHash(Path path) throws IOException {
+        return findPathHash(path, Long.MAX_VALUE);
+    }
+
+    interface PathHash {
+        String find(Path path) throws IOException;
+    }
+
+    private Optional<String> recordHash(String fileName, PathHash pathHash) {
+        long start = statistics == null ? 0 : System.nanoTime();
+        byteCount = 0;
+        boolean failed = false;
+        try {
+            return Optional.of(pathHash.find(Paths.get(fileName)));
+        } catch (IOException | InvalidPathException e) {
+            failed = true;
+            return Optional.empty();
+        } finally {
+            if (statistics != null) {
+                statistics.record(fileName, byteCount, System.nanoTime() - start, failed);
+            }
+        }
+    }
+
+    Optional<String> hashFilePrefix(String fileName, long prefixByteSize) {
+        return recordHash(fileName, path -> findPathHash(path, prefixByteSize));
+    }
+
+    Optional<String> hashFile(String fileName, HashCache cache) {
+        return recordHash(fileName, path -> findCachedHash(path, fileName, cache));
+    }
+
+    String findFileHash(String fileName) {
+        return findFileHash(fileName, null);
+    }
+
+    String findFileHash(String fileName, HashCache cache) {
+        return hashFile(fileName, cache).orElse(algorithm.getBadHash());
+    }
+
+    private String findCachedHash(Path path, String fileName, HashCache cache) throws IOException {
+        if (cache == null) {
+            return findPathHash(path);
+        }
+        BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+        String hash = cache.get(fileName, attributes);
+        if (hash == null) {
+            hash = findPathHash(path);
+            cache.put(fileName, attributes, hash);
+        }
+        return hash;
+    }
+}
@@ -0,0 +1,7 @@
+package ru.ifmo.rain.zakharevich.walk;
+
+import java.io.IOException;
+
+interface FileNameSink {
+    void submit(String fileName) throws IOException;
+}
@@ -0,0 +1,52 @@
+package ru.ifmo.rain.zakharevich.walk;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+class FnvHasher implements Hasher {
+
+    private final static int FNV_32_PRIME = 16777619;
+    private final static int FNV_32_INITIAL_VALUE = (int) 2166136261L;
+    private final static int FNV_32_BIT_MASK = 255;
+
+    private int hashValue;
+
+    FnvHasher() {
+        reset();
+    }
+
+    @Override
+    public void reset() {
+        hashValue = FNV_32_INITIAL_VALUE;
+    }
+
+    private static int findHash(int hashValue, long word) {
+        for (int shift = Long.SIZE - Byte.SIZE; shift >= 0; shift -= Byte.SIZE) {
+            hashValue *= FNV_32_PRIME;
+            hashValue ^= (int) (word >>> shift) & FNV_32_BIT_MASK;
+        }
+        return hashValue;
+    }
+
+    @Override
+    public void update(ByteBuffer buffer) {
+        buffer.order(ByteOrder.BIG_ENDIAN);
+        int hash = hashValue;
+        int i = buffer.position();
+        int limit = buffer.limit();
+        for (; i + Long.BYTES <= limit; i += Long.BYTES) {
+            hash = findHash(hash, buffer.getLong(i));
+        }
+        for (; i < limit; ++i) {
+            hash *= FNV_32_PRIME;
+            hash ^= buffer.get(i) & FNV_32_BIT_MASK;
+        }
+        buffer.position(limit);
+        hashValue = hash;
+    }
+
+    @Override
+    public String digest() {
+        return String.format("%08x", hashValue);
+    }
+}
@@ -0,0 +1,40 @@
+package ru.ifmo.rain.zakharevich.walk;
+
+import java.util.function.Supplier;
+
+enum HashAlgorithm {
+    FNV("fnv", 8, FnvHasher::new),
+    CRC32C("crc32c", 8, Crc32cHasher::new),
+    XXHASH64("xxhash64", 16, XxHash64Hasher::new);
+
+    private final String name;
+    private final String badHash;
+    private final Supplier<Hasher> hasherFactory;
+
+    HashAlgorithm(String name, int hexLength, Supplier<Hasher> hasherFactory) {
+        this.name = name;
+        this.badHash = "0".repeat(hexLength);
+        this.hasherFactory = hasherFactory;
+    }
+
+    String getName() {
+        return name;
+    }
+
+    String getBadHash() {
+        return badHash;
+    }
+
+    Hasher newHasher() {
+        return hasherFactory.get();
+    }
+
+    static HashAlgorithm forName(String name) {
+        for (HashAlgorithm algorithm : values()) {
+            if (algorithm.name.equals(name)) {
+                return algorithm;
+            }
+        }
+        throw new IllegalArgumentException("Unknown hash algorithm: " + name);
+    }
+}
@@ -0,0 +1,132 @@
+package ru.ifmo.rain.zakharevich.walk;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+class HashCache {
+
+    private final static int MAGIC = 0x57484331;
+
+    private final static int STREAM_BUFFER_BYTE_SIZE = 1 << 16;
+    private final static int MIN_ENTRY_BYTE_SIZE = 3 * Short.BYTES + 2 * Long.BYTES;
+
+    private final HashAlgorithm algorithm;
+    private final Map<String, Entry> previous;
+    private final Map<String, Entry> current;
+
+    private HashCache(HashAlgorithm algorithm, Map<String, Entry> previous) {
+        this.algorithm = algorithm;
+        this.previous = previous;
+        this.current = new ConcurrentHashMap<>(previous.size());
+    }
+
+    static HashCache empty(HashAlgorithm algorithm) {
+        return new HashCache(algorithm, new HashMap<>());
+    }
+
+    static HashCache load(Path file, HashAlgorithm algorithm) throws IOException {
+        try (DataInputStream input = new DataInputStream(new BufferedInputStream(Files.newInputStream(file),
+                STREAM_BUFFER_BYTE_SIZE))) {
+            if (input.readInt() != MAGIC) {
+                throw new IOException("Not a hash cache file: " + file);
+            }
+            if (!input.readUTF().equals(algorithm.getName())) {
+                return empty(algorithm);
+            }
+            int count = input.readInt();
+            if (count < 0 || count > Files.size(file) / MIN_ENTRY_BYTE_SIZE) {
+                throw new IOException("Corrupted hash cache file: " + file);
+            }
+            Map<String, Entry> entries = new HashMap<>(count * 4 / 3 + 1);
+            for (int i = 0; i < count; i++) {
+                String fileName = input.readUTF();
+                entries.put(fileName, new Entry(input.readLong(), input.readLong(), input.readUTF(), input.readUTF()));
+            }
+            return new HashCache(algorithm, entries);
+        } catch (NoSuchFileException e) {
+            return empty(algorithm);
+        } catch (EOFException e) {
+            throw new IOException("Truncated hash cache file: " + file);
+        }
+    }
+
+    void save(Path file) throws IOException {
+        Path directory = file.toAbsolutePath().getParent();
+        Path temporary = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+        try {
+            try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporary),
+                    STREAM_BUFFER_BYTE_SIZE))) {
+                output.writeInt(MAGIC);
+                output.writeUTF(algorithm.getName());
+                output.writeInt(current.size());
+                for (Map.Entry<String, Entry> entry : current.entrySet()) {
+                    Entry value = entry.getValue();
+                    output.writeUTF(entry.getKey());
+                    output.writeLong(value.size);
+                    output.writeLong(value.modified);
+                    output.writeUTF(value.fileKey);
+                    output.writeUTF(value.hash);
+                }
+            }
+            Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    String get(String fileName, BasicFileAttributes attributes) {
+        Entry entry = current.get(fileName);
+        if (entry == null) {
+            entry = previous.get(fileName);
+        }
+        if (entry == null || !entry.matches(attributes)) {
+            return null;
+        }
+        current.put(fileName, entry);
+        return entry.hash;
+    }
+
+    void put(String fileName, BasicFileAttributes attributes, String hash) {
+        if (attributes.isRegularFile()) {
+            current.put(fileName, new Entry(attributes.size(), modified(attributes), fileKey(attributes), hash));
+        }
+    }
+
+    private static long modified(BasicFileAttributes attributes) {
+        return attributes.lastModifiedTime().to(TimeUnit.NANOSECONDS);
+    }
+
+    private static String fileKey(BasicFileAttributes attributes) {
+        Object fileKey = attributes.fileKey();
+        return fileKey == null ? "" : fileKey.toString();
+    }
+
+    private static class Entry {
+        private final long size;
+        private final long modified;
+        private final String fileKey;
+        private final String hash;
+
+        Entry(long size, long modified, String fileKey, String hash) {
+            this.size = size;
+            this.modified = modified;
+            this.fileKey = fileKey;
+            this.hash = hash;
+        }
+
+        boolean matches(BasicFileAttributes attributes) {
+            return attributes.isRegularFile()
+                    && size == attributes.size()
+                    && modified == modified(attributes)
+                    && fileKey.equals(fileKey(attributes));
+        }
+    }
+}
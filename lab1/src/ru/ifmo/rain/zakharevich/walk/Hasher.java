@@ -0,0 +1,12 @@
+package ru.ifmo.rain.zakharevich.walk;
+
+import java.nio.ByteBuffer;
+
+interface Hasher {
+
+    void reset();
+
+    void update(ByteBuffer buffer);
+
+    String digest();
+}
@@ -0,0 +1,56 @@
+package ru.ifmo.rain.zakharevich.walk;
+
+import java.io.IOException;
+import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.EnumSet;
+import java.util.Set;
+
+public class RecursiveWalk {
+
+    private final static String USAGE = "Usage: java RecursiveWalk " + WalkOptions.RECURSIVE_USAGE;
+
+    private static void walk(FileNameSink sink, String line, WalkOptions options) throws IOException {
+        Path start;
+        try {
+            start = Paths.get(line);
+        } catch (InvalidPathException e) {
+            sink.submit(line);
+            return;
+        }
+        if (!Files.isDirectory(start)) {
+            sink.submit(line);
+            return;
+        }
+
+        Set<FileVisitOption> visitOptions = options.followLinks
+                ? EnumSet.of(FileVisitOption.FOLLOW_LINKS)
+                : EnumSet.noneOf(FileVisitOption.class);
+        Files.walkFileTree(start, visitOptions, options.maxDepth, new SimpleFileVisitor<>() {
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+                if (!attrs.isDirectory()) {
+                    sink.submit(file.toString());
+                }
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFileFailed(Path file, IOException exc) throws IOException {
+                if (!(exc instanceof FileSystemLoopException)) {
+                    sink.submit(file.toString());
+                }
+                return FileVisitResult.CONTINUE;
+            }
+        });
+    }
+
+    public static void main(String[] args) {
+        try {
+            WalkOptions options = WalkOptions.parse(args, USAGE, true);
+            Walk.run(options, (sink, line) -> walk(sink, line, options));
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+        }
+    }
+}
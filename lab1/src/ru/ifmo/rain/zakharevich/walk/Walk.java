@@ -5,77 +5,124 @@ import java.nio.charset.StandardCharsets;
 
 public class Walk {
 
-    private final static int FNV_32_PRIME = 16777619;
-    private final static int FNV_32_INITIAL_VALUE = (int) 2166136261L;
-    private final static int FNV_32_BIT_MASK = 255;
+    private final static String USAGE = "Usage: java Walk " + WalkOptions.USAGE;
 
-    private final static int INPUT_BUFFER_BYTE_SIZE = 1024;
+    private final static int INPUT_BUFFER_CHAR_SIZE = 1 << 16;
+    private final static int OUTPUT_BUFFER_BYTE_SIZE = 1 << 20;
 
-    private final static String BAD_FILE_HASH = "00000000";
-
-    private static int findHash(int hashValue, byte[] buf, int length) {
-        for (int i = 0; i < length; ++i) {
-            hashValue *= FNV_32_PRIME;
-            hashValue ^= buf[i] & FNV_32_BIT_MASK;
-        }
-        return hashValue;
+    interface LineHandler {
+        void handle(FileNameSink sink, String line) throws IOException;
     }
 
-    private static String findFileHash(String fileName) {
-
-        try (InputStream is = new FileInputStream(fileName)) {
-            byte[] buffer = new byte[INPUT_BUFFER_BYTE_SIZE];
-            int currentHash = FNV_32_INITIAL_VALUE;
-            int length = 0;
-            while ((length = is.read(buffer)) != -1) {
-                currentHash = findHash(currentHash, buffer, length);
-            }
-            return String.format("%08x", currentHash);
-        } catch (IOException e) {
-            return BAD_FILE_HASH;
+    private static void readLines(BufferedReader reader, FileNameSink sink, LineHandler handler) throws IOException {
+        String filename = null;
+        while ((filename = reader.readLine()) != null) {
+            handler.handle(sink, filename);
         }
     }
 
-    public static void main(String[] args) {
-        if (args == null || args.length != 2 || args[0] == null || args[1] == null) {
-            System.err.println("Usage: java Walk <input file> <output file>");
-            return;
-        }
-
-        File outputFile = new File(args[1]);
+    private static boolean walk(WalkOptions options, ThreadLocal<FileHasher> fileHasher, HashCache cache,
+                                LineHandler handler) {
+        String inputFileName = options.inputFileName;
+        String outputFileName = options.outputFileName;
+        File outputFile = new File(outputFileName);
         File outputFileDirectory = outputFile.getParentFile();
         if (outputFileDirectory != null) {
             if (!outputFileDirectory.mkdirs()) {
-                System.err.println("Unable to create file " + args[1]);
-                return;
+                System.err.println("Unable to create file " + outputFileName);
+                return false;
             }
         }
 
-        try (BufferedReader reader = new BufferedReader(new InputStreamReader(new FileInputStream(args[0]),
-                StandardCharsets.UTF_8))) {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(new FileInputStream(inputFileName),
+                StandardCharsets.UTF_8), INPUT_BUFFER_CHAR_SIZE)) {
 
-            try (BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(outputFile),
-                    StandardCharsets.UTF_8))) {
-                String filename = null;
-                while ((filename = reader.readLine()) != null) {
-                    writer.write(findFileHash(filename) + " " + filename + "\n");
+            try (Writer writer = new OutputStreamWriter(new BufferedOutputStream(new FileOutputStream(outputFile),
+                    OUTPUT_BUFFER_BYTE_SIZE), StandardCharsets.UTF_8)) {
+                if (options.dedup) {
+                    DuplicateFinder finder = new DuplicateFinder(fileHasher::get, cache, options.threads);
+                    readLines(reader, finder, handler);
+                    finder.writeDuplicates(writer);
+                } else {
+                    try (WalkPipeline pipeline = new WalkPipeline(writer,
+                            fileName -> fileHasher.get().findFileHash(fileName, cache), options.threads)) {
+                        readLines(reader, pipeline, handler);
+                    }
                 }
             } catch (UnsupportedEncodingException e) {
                 System.err.println("Unsupported encoding UTF-8 when using output file: " + e.getMessage());
+                return false;
             } catch (FileNotFoundException e) {
                 System.err.println("Output file not found: " + e.getMessage());
+                return false;
             } catch (IOException e) {
                 System.err.println("An I/O error occurred with output file: " + e.getMessage());
+                return false;
             }
 
         } catch (UnsupportedEncodingException e) {
             System.err.println("Unsupported encoding UTF-8 when using input file: " + e.getMessage());
+            return false;
         } catch (FileNotFoundException e) {
             System.err.println("Input file not found: " + e.getMessage());
+            return false;
         } catch (IOException e) {
             System.err.println("An I/O error occurred with input file: " + e.getMessage());
+            return false;
         }
+        return true;
+    }
 
+    private static HashCache loadCache(WalkOptions options) {
+        try {
+            return HashCache.load(options.cacheFile, options.algorithm);
+        } catch (IOException e) {
+            System.err.println("Unable to load hash cache, all files will be rehashed: " + e.getMessage());
+            return HashCache.empty(options.algorithm);
+        }
+    }
+
+    static void run(WalkOptions options, LineHandler handler) {
+        WalkStatistics statistics = options.statisticsFile == null && options.progressSeconds == 0
+                ? null
+                : new WalkStatistics();
+        ThreadLocal<FileHasher> fileHasher =
+                ThreadLocal.withInitial(() -> new FileHasher(options.algorithm, statistics));
+        HashCache cache = options.cacheFile == null ? null : loadCache(options);
 
+        if (statistics != null) {
+            statistics.start(options.progressSeconds);
+        }
+        boolean success;
+        try {
+            success = walk(options, fileHasher, cache, handler);
+        } finally {
+            if (statistics != null) {
+                statistics.stop();
+            }
+        }
+
+        if (success && cache != null) {
+            try {
+                cache.save(options.cacheFile);
+            } catch (IOException e) {
+                System.err.println("Unable to save hash cache: " + e.getMessage());
+            }
+        }
+        if (statistics != null && options.statisticsFile != null) {
+            try {
+                statistics.writeSummary(options.statisticsFile);
+            } catch (IOException e) {
+                System.err.println("Unable to write statistics: " + e.getMessage());
+            }
+        }
+    }
+
+    public static void main(String[] args) {
+        try {
+            run(WalkOptions.parse(args, USAGE), FileNameSink::submit);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+        }
     }
 }
@@ -0,0 +1,117 @@
+package ru.ifmo.rain.zakharevich.walk;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+class WalkOptions {
+
+    private final static String THREADS_OPTION = "-threads";
+    private final static String CACHE_OPTION = "-cache";
+    private final static String HASH_OPTION = "-hash";
+    private final static String DEPTH_OPTION = "-depth";
+    private final static String FOLLOW_LINKS_OPTION = "-follow-links";
+    private final static String DEDUP_OPTION = "-dedup";
+    private final static String STATS_OPTION = "-stats";
+    private final static String PROGRESS_OPTION = "-progress";
+
+    private final static String FILES_USAGE = "<input file> <output file>";
+
+    private final static String COMMON_USAGE = "[" + THREADS_OPTION + " <number>] [" + CACHE_OPTION + " <file>] "
+            + "[" + HASH_OPTION + " " + algorithmNames() + "] [" + DEDUP_OPTION + "] "
+            + "[" + STATS_OPTION + " <file>] [" + PROGRESS_OPTION + " <seconds>] ";
+
+    final static String USAGE = COMMON_USAGE + FILES_USAGE;
+
+    final static String RECURSIVE_USAGE = COMMON_USAGE
+            + "[" + DEPTH_OPTION + " <number>] [" + FOLLOW_LINKS_OPTION + "] " + FILES_USAGE;
+
+    int threads = 1;
+    HashAlgorithm algorithm = HashAlgorithm.FNV;
+    Path cacheFile;
+    int maxDepth = Integer.MAX_VALUE;
+    boolean followLinks;
+    boolean dedup;
+    Path statisticsFile;
+    int progressSeconds;
+    String inputFileName;
+    String outputFileName;
+
+    private WalkOptions() {
+    }
+
+    static WalkOptions parse(String[] args, String usage) {
+        return parse(args, usage, false);
+    }
+
+    static WalkOptions parse(String[] args, String usage, boolean recursive) {
+        if (args == null || args.length < 2 || Arrays.asList(args).contains(null)) {
+            throw new IllegalArgumentException(usage);
+        }
+
+        WalkOptions options = new WalkOptions();
+        int optionsEnd = args.length - 2;
+        int argIndex = 0;
+        while (argIndex < optionsEnd) {
+            String option = args[argIndex++];
+            if (recursive && FOLLOW_LINKS_OPTION.equals(option)) {
+                options.followLinks = true;
+                continue;
+            }
+            if (DEDUP_OPTION.equals(option)) {
+                options.dedup = true;
+                continue;
+            }
+            if (argIndex == optionsEnd) {
+                throw new IllegalArgumentException(usage);
+            }
+            String value = args[argIndex++];
+            switch (option) {
+                case THREADS_OPTION:
+                    options.threads = parsePositive(value, "Threads number must be positive: ");
+                    break;
+                case CACHE_OPTION:
+                    options.cacheFile = Paths.get(value);
+                    break;
+                case HASH_OPTION:
+                    options.algorithm = HashAlgorithm.forName(value);
+                    break;
+                case STATS_OPTION:
+                    options.statisticsFile = Paths.get(value);
+                    break;
+                case PROGRESS_OPTION:
+                    options.progressSeconds = parsePositive(value, "Progress interval must be positive: ");
+                    break;
+                case DEPTH_OPTION:
+                    if (!recursive) {
+                        throw new IllegalArgumentException(usage);
+                    }
+                    options.maxDepth = parsePositive(value, "Depth must be positive: ");
+                    break;
+                default:
+                    throw new IllegalArgumentException(usage);
+            }
+        }
+        options.inputFileName = args[optionsEnd];
+        options.outputFileName = args[optionsEnd + 1];
+        return options;
+    }
+
+    private static String algorithmNames() {
+        return Arrays.stream(HashAlgorithm.values())
+                .map(HashAlgorithm::getName)
+                .collect(Collectors.joining("|", "<", ">"));
+    }
+
+    private static int parsePositive(String value, String errorMessage) {
+        try {
+            int number = Integer.parseInt(value);
+            if (number > 0) {
+                return number;
+            }
+        } catch (NumberFormatException ignored) {
+        }
+        throw new IllegalArgumentException(errorMessage + value);
+    }
+}
@@ -0,0 +1,188 @@
+package ru.ifmo.rain.zakharevich.walk;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.function.Function;
+
+class WalkPipeline implements FileNameSink, AutoCloseable {
+
+    private final static int QUEUE_CAPACITY_PER_THREAD = 64;
+    private final static int OUTPUT_BLOCK_CHAR_SIZE = 1 << 16;
+
+    private final static Entry END = new Entry(null);
+
+    private final Function<String, String> hashFunction;
+    private final BlockingQueue<Entry> hashQueue;
+    private final BlockingQueue<Entry> writeQueue;
+    private final List<Thread> hashers;
+    private final Thread writerThread;
+
+    private final Writer writer;
+    private final char[] outputBlock = new char[OUTPUT_BLOCK_CHAR_SIZE];
+    private int outputBlockLength;
+    private volatile IOException failure;
+
+    WalkPipeline(Writer writer, Function<String, String> hashFunction, int threads) {
+        if (threads <= 0) {
+            throw new IllegalArgumentException("Threads number must be positive");
+        }
+        this.writer = writer;
+        this.hashFunction = hashFunction;
+        this.hashQueue = new ArrayBlockingQueue<>(threads * QUEUE_CAPACITY_PER_THREAD);
+        this.writeQueue = new ArrayBlockingQueue<>(threads * QUEUE_CAPACITY_PER_THREAD);
+
+        this.hashers = new ArrayList<>(threads);
+        for (int i = 0; i < threads; i++) {
+            hashers.add(new Thread(this::hash));
+        }
+        this.writerThread = new Thread(this::write);
+        hashers.forEach(Thread::start);
+        writerThread.start();
+    }
+
+    @Override
+    public void submit(String fileName) throws IOException {
+        IOException failure = this.failure;
+        if (failure != null) {
+            throw new IOException(failure.getMessage(), failure);
+        }
+        Entry entry = new Entry(fileName);
+        try {
+            writeQueue.put(entry);
+            hashQueue.put(entry);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            InterruptedIOException interrupted = new InterruptedIOException("Interrupted while submitting " + fileName);
+            entry.complete(null, interrupted);
+            throw interrupted;
+        }
+    }
+
+    private void hash() {
+        try {
+            Entry entry;
+            while ((entry = hashQueue.take()) != END) {
+                try {
+                    entry.complete(hashFunction.apply(entry.fileName), null);
+                } catch (Throwable e) {
+                    entry.complete(null, e);
+                }
+            }
+        } catch (InterruptedException ignored) {
+        }
+    }
+
+    private void write() {
+        try {
+            Entry entry;
+            while ((entry = writeQueue.take()) != END) {
+                String hash = entry.await();
+                if (failure != null) {
+                    continue;
+                }
+                try {
+                    if (hash == null) {
+                        throw new IOException("Unable to hash " + entry.fileName, entry.error);
+                    }
+                    append(hash);
+                    append(" ");
+                    append(entry.fileName);
+                    append("\n");
+                } catch (IOException e) {
+                    failure = e;
+                }
+            }
+            if (failure == null) {
+                flushBlock();
+            }
+        } catch (IOException e) {
+            failure = e;
+        } catch (InterruptedException ignored) {
+        }
+    }
+
+    private void append(String s) throws IOException {
+        int offset = 0;
+        int length = s.length();
+        while (offset < length) {
+            if (outputBlockLength == outputBlock.length) {
+                flushBlock();
+            }
+            int count = Math.min(length - offset, outputBlock.length - outputBlockLength);
+            s.getChars(offset, offset + count, outputBlock, outputBlockLength);
+            outputBlockLength += count;
+            offset += count;
+        }
+    }
+
+    private void flushBlock() throws IOException {
+        writer.write(outputBlock, 0, outputBlockLength);
+        outputBlockLength = 0;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            for (int i = 0; i < hashers.size(); i++) {
+                hashQueue.put(END);
+            }
+            for (Thread hasher : hashers) {
+                hasher.join();
+            }
+            failUnhashed();
+            writeQueue.put(END);
+            writerThread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while finishing output");
+        } finally {
+            hashers.forEach(Thread::interrupt);
+            writerThread.interrupt();
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    private void failUnhashed() {
+        Entry entry;
+        while ((entry = hashQueue.poll()) != null) {
+            if (entry != END) {
+                entry.complete(null, new IOException("Hashing stopped before " + entry.fileName));
+            }
+        }
+    }
+
+    private static class Entry {
+        private final String fileName;
+        private String hash;
+        private Throwable error;
+        private boolean done;
+
+        Entry(String fileName) {
+            this.fileName = fileName;
+        }
+
+        synchronized void complete(String hash, Throwable error) {
+            if (done) {
+                return;
+            }
+            this.hash = hash;
+            this.error = error;
+            done = true;
+            notify();
+        }
+
+        synchronized String await() throws InterruptedException {
+            while (!done) {
+                wait();
+            }
+            return hash;
+        }
+    }
+}
@@ -0,0 +1,196 @@
+package ru.ifmo.rain.zakharevich.walk;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+class WalkStatistics {
+
+    private final static int SLOWEST_FILES_COUNT = 10;
+    private final static double[] PERCENTILES = {0.5, 0.9, 0.99, 0.999};
+    private final static String[] PERCENTILE_NAMES = {"p50", "p90", "p99", "p99.9"};
+
+    private final LongAdder files = new LongAdder();
+    private final LongAdder bytes = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final AtomicLongArray latencyHistogram = new AtomicLongArray(Long.SIZE);
+    private final PriorityQueue<FileLatency> slowestFiles = new PriorityQueue<>(
+            Comparator.comparingLong((FileLatency latency) -> latency.nanos));
+    private volatile long slowestFilesThreshold = -1;
+
+    private long startNanos;
+    private long stopNanos;
+    private ScheduledExecutorService progressExecutor;
+
+    void start(int progressIntervalSeconds) {
+        startNanos = System.nanoTime();
+        if (progressIntervalSeconds > 0) {
+            progressExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable);
+                thread.setDaemon(true);
+                return thread;
+            });
+            progressExecutor.scheduleAtFixedRate(() -> System.err.println(progressLine()),
+                    progressIntervalSeconds, progressIntervalSeconds, TimeUnit.SECONDS);
+        }
+    }
+
+    void stop() {
+        stopNanos = System.nanoTime();
+        if (progressExecutor != null) {
+            progressExecutor.shutdownNow();
+            System.err.println(progressLine());
+        }
+    }
+
+    void record(String fileName, long byteCount, long nanos, boolean failed) {
+        files.increment();
+        bytes.add(byteCount);
+        if (failed) {
+            errors.increment();
+        }
+        latencyHistogram.incrementAndGet(bucket(nanos));
+
+        if (nanos <= slowestFilesThreshold) {
+            return;
+        }
+        synchronized (slowestFiles) {
+            if (slowestFiles.size() < SLOWEST_FILES_COUNT) {
+                slowestFiles.add(new FileLatency(fileName, nanos));
+            } else if (slowestFiles.peek().nanos < nanos) {
+                slowestFiles.poll();
+                slowestFiles.add(new FileLatency(fileName, nanos));
+            }
+            if (slowestFiles.size() == SLOWEST_FILES_COUNT) {
+                slowestFilesThreshold = slowestFiles.peek().nanos;
+            }
+        }
+    }
+
+    private static int bucket(long nanos) {
+        return Long.SIZE - Long.numberOfLeadingZeros(Math.max(nanos, 1) - 1);
+    }
+
+    private static long bucketUpperBound(int bucket) {
+        return bucket == Long.SIZE - 1 ? Long.MAX_VALUE : 1L << bucket;
+    }
+
+    private double elapsedSeconds() {
+        long end = stopNanos == 0 ? System.nanoTime() : stopNanos;
+        return Math.max(end - startNanos, 1) / 1e9;
+    }
+
+    private String progressLine() {
+        double seconds = elapsedSeconds();
+        long fileCount = files.sum();
+        long byteCount = bytes.sum();
+        return String.format("%.1f s: %d files (%.1f files/s), %d bytes (%.1f MiB/s), %d errors",
+                seconds, fileCount, fileCount / seconds, byteCount, byteCount / seconds / (1 << 20), errors.sum());
+    }
+
+    private long percentileUpperBound(double percentile, long total) {
+        long threshold = (long) Math.ceil(percentile * total);
+        long count = 0;
+        for (int i = 0; i < latencyHistogram.length(); i++) {
+            count += latencyHistogram.get(i);
+            if (count >= threshold) {
+                return bucketUpperBound(i);
+            }
+        }
+        return 0;
+    }
+
+    private static String quote(String s) {
+        StringBuilder sb = new StringBuilder("\"");
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c == '"' || c == '\\') {
+                sb.append('\\').append(c);
+            } else if (c < ' ') {
+                sb.append(String.format("\\u%04x", (int) c));
+            } else {
+                sb.append(c);
+            }
+        }
+        return sb.append('"').toString();
+    }
+
+    String toJson() {
+        double seconds = elapsedSeconds();
+        long fileCount = files.sum();
+        long byteCount = bytes.sum();
+
+        StringBuilder json = new StringBuilder("{\n");
+        json.append("  \"elapsedSeconds\": ").append(seconds).append(",\n");
+        json.append("  \"files\": ").append(fileCount).append(",\n");
+        json.append("  \"bytes\": ").append(byteCount).append(",\n");
+        json.append("  \"errors\": ").append(errors.sum()).append(",\n");
+        json.append("  \"filesPerSecond\": ").append(fileCount / seconds).append(",\n");
+        json.append("  \"bytesPerSecond\": ").append(byteCount / seconds).append(",\n");
+
+        json.append("  \"latencyPercentilesNanos\": {");
+        for (int i = 0; i < PERCENTILES.length; i++) {
+            json.append(i == 0 ? "" : ", ")
+                    .append(quote(PERCENTILE_NAMES[i]))
+                    .append(": ")
+                    .append(percentileUpperBound(PERCENTILES[i], fileCount));
+        }
+        json.append("},\n");
+
+        json.append("  \"latencyHistogramNanos\": [");
+        String separator = "";
+        for (int i = 0; i < latencyHistogram.length(); i++) {
+            long count = latencyHistogram.get(i);
+            if (count > 0) {
+                json.append(separator)
+                        .append("{\"upperBound\": ").append(bucketUpperBound(i))
+                        .append(", \"count\": ").append(count).append('}');
+                separator = ", ";
+            }
+        }
+        json.append("],\n");
+
+        List<FileLatency> slowest;
+        synchronized (slowestFiles) {
+            slowest = new ArrayList<>(slowestFiles);
+        }
+        slowest.sort(Comparator.comparingLong((FileLatency latency) -> latency.nanos).reversed());
+        json.append("  \"slowestFiles\": [");
+        separator = "";
+        for (FileLatency latency : slowest) {
+            json.append(separator)
+                    .append("{\"file\": ").append(quote(latency.fileName))
+                    .append(", \"nanos\": ").append(latency.nanos).append('}');
+            separator = ", ";
+        }
+        json.append("]\n}\n");
+        return json.toString();
+    }
+
+    void writeSummary(Path file) throws IOException {
+        try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            writer.write(toJson());
+        }
+    }
+
+    private static class FileLatency {
+        private final String fileName;
+        private final long nanos;
+
+        FileLatency(String fileName, long nanos) {
+            this.fileName = fileName;
+            this.nanos = nanos;
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package ru.ifmo.rain.zakharevich.walk;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+class XxHash64Hasher implements Hasher {
+
+    private final static long PRIME64_1 = 0x9E3779B185EBCA87L;
+    private final static long PRIME64_2 = 0xC2B2AE3D27D4EB4FL;
+    private final static long PRIME64_3 = 0x165667B19E3779F9L;
+    private final static long PRIME64_4 = 0x85EBCA77C2B2AE63L;
+    private final static long PRIME64_5 = 0x27D4EB2F165667C5L;
+
+    private final static int STRIPE_BYTE_SIZE = 32;
+
+    private final ByteBuffer tail = ByteBuffer.allocate(STRIPE_BYTE_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+    private long v1;
+    private long v2;
+    private long v3;
+    private long v4;
+    private long totalLength;
+
+    XxHash64Hasher() {
+        reset();
+    }
+
+    @Override
+    public void reset() {
+        v1 = PRIME64_1 + PRIME64_2;
+        v2 = PRIME64_2;
+        v3 = 0;
+        v4 = -PRIME64_1;
+        totalLength = 0;
+        tail.clear();
+    }
+
+    private static long round(long accumulator, long input) {
+        return Long.rotateLeft(accumulator + input * PRIME64_2, 31) * PRIME64_1;
+    }
+
+    private static long mergeRound(long accumulator, long value) {
+        return (accumulator ^ round(0, value)) * PRIME64_1 + PRIME64_4;
+    }
+
+    private void processStripe(ByteBuffer buffer, int index) {
+        v1 = round(v1, buffer.getLong(index));
+        v2 = round(v2, buffer.getLong(index + Long.BYTES));
+        v3 = round(v3, buffer.getLong(index + 2 * Long.BYTES));
+        v4 = round(v4, buffer.getLong(index + 3 * Long.BYTES));
+    }
+
+    @Override
+    public void update(ByteBuffer buffer) {
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+        int i = buffer.position();
+        int limit = buffer.limit();
+        totalLength += limit - i;
+
+        if (tail.position() > 0) {
+            while (tail.hasRemaining() && i < limit) {
+                tail.put(buffer.get(i++));
+            }
+            if (tail.hasRemaining()) {
+                buffer.position(limit);
+                return;
+            }
+            processStripe(tail, 0);
+            tail.clear();
+        }
+        for (; i + STRIPE_BYTE_SIZE <= limit; i += STRIPE_BYTE_SIZE) {
+            processStripe(buffer, i);
+        }
+        while (i < limit) {
+            tail.put(buffer.get(i++));
+        }
+        buffer.position(limit);
+    }
+
+    @Override
+    public String digest() {
+        long hash;
+        if (totalLength >= STRIPE_BYTE_SIZE) {
+            hash = Long.rotateLeft(v1, 1) + Long.rotateLeft(v2, 7) + Long.rotateLeft(v3, 12) + Long.rotateLeft(v4, 18);
+            hash = mergeRound(hash, v1);
+            hash = mergeRound(hash, v2);
+            hash = mergeRound(hash, v3);
+            hash = mergeRound(hash, v4);
+        } else {
+            hash = PRIME64_5;
+        }
+        hash += totalLength;
+
+        int length = tail.position();
+        int i = 0;
+        for (; i + Long.BYTES <= length; i += Long.BYTES) {
+            hash ^= round(0, tail.getLong(i));
+            hash = Long.rotateLeft(hash, 27) * PRIME64_1 + PRIME64_4;
+        }
+        if (i + Integer.BYTES <= length) {
+            hash ^= (tail.getInt(i) & 0xFFFFFFFFL) * PRIME64_1;
+            hash = Long.rotateLeft(hash, 23) * PRIME64_2 + PRIME64_3;
+            i += Integer.BYTES;
+        }
+        for (; i < length; i++) {
+            hash ^= (tail.get(i) & 0xFFL) * PRIME64_5;
+            hash = Long.rotateLeft(hash, 11) * PRIME64_1;
+        }
+
+        hash ^= hash >>> 33;
+        hash *= PRIME64_2;
+        hash ^= hash >>> 29;
+        hash *= PRIME64_3;
+        hash ^= hash >>> 32;
+        return String.format("%016x", hash);
+    }
+}
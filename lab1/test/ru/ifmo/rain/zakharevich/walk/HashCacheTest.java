@@ -0,0 +1,88 @@
+package ru.ifmo.rain.zakharevich.walk;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.List;
+
+public class HashCacheTest {
+
+    private final static int MAGIC = 0x57484331;
+    private final static HashAlgorithm ALGORITHM = HashAlgorithm.FNV;
+
+    interface Check {
+        void run(Path directory) throws Exception;
+    }
+
+    private static void check(String name, Check check) throws IOException {
+        Path directory = Files.createTempDirectory("hash-cache-test");
+        try {
+            check.run(directory);
+        } catch (Exception | AssertionError e) {
+            throw new AssertionError(name + ": " + e, e);
+        } finally {
+            try (var files = Files.walk(directory)) {
+                files.sorted((a, b) -> b.compareTo(a)).forEach(file -> file.toFile().delete());
+            }
+        }
+        System.out.println(name + ": ok");
+    }
+
+    private static void require(boolean condition, String message) {
+        if (!condition) {
+            throw new AssertionError(message);
+        }
+    }
+
+    private static Path cacheWithCount(Path directory, int count) throws IOException {
+        Path file = directory.resolve("cache.bin");
+        try (DataOutputStream output = new DataOutputStream(Files.newOutputStream(file))) {
+            output.writeInt(MAGIC);
+            output.writeUTF(ALGORITHM.getName());
+            output.writeInt(count);
+        }
+        return file;
+    }
+
+    private static void requireRejected(Path file) {
+        try {
+            HashCache.load(file, ALGORITHM);
+        } catch (IOException e) {
+            return;
+        }
+        throw new AssertionError("corrupted cache was accepted");
+    }
+
+    private static void roundTrip(Path directory) throws IOException {
+        Path data = Files.write(directory.resolve("data"), "data".getBytes(StandardCharsets.UTF_8));
+        BasicFileAttributes attributes = Files.readAttributes(data, BasicFileAttributes.class);
+        HashCache cache = HashCache.empty(ALGORITHM);
+        cache.put(data.toString(), attributes, "0123456789abcdef");
+        Path file = directory.resolve("cache.bin");
+        cache.save(file);
+        String hash = HashCache.load(file, ALGORITHM).get(data.toString(), attributes);
+        require("0123456789abcdef".equals(hash), "cached hash was lost: " + hash);
+    }
+
+    private static void walkWithCorruptedCache(Path directory) throws IOException {
+        Path data = Files.write(directory.resolve("data"), new byte[0]);
+        Path input = Files.write(directory.resolve("input.txt"), List.of(data.toString()), StandardCharsets.UTF_8);
+        Path cache = cacheWithCount(directory, -2);
+        Path output = directory.resolve("out").resolve("output.txt");
+        Walk.main(new String[]{"-cache", cache.toString(), input.toString(), output.toString()});
+        require(Files.exists(output), "no output with a corrupted cache");
+        String line = Files.readString(output, StandardCharsets.UTF_8);
+        require(line.endsWith(" " + data + "\n"), "unexpected output: " + line);
+    }
+
+    public static void main(String[] args) throws IOException {
+        check("roundTrip", HashCacheTest::roundTrip);
+        check("negativeCount", directory -> requireRejected(cacheWithCount(directory, -2)));
+        check("hugeCount", directory -> requireRejected(cacheWithCount(directory, Integer.MAX_VALUE)));
+        check("truncated", directory -> requireRejected(cacheWithCount(directory, 1)));
+        check("walkWithCorruptedCache", HashCacheTest::walkWithCorruptedCache);
+    }
+}
@@ -0,0 +1,122 @@
+package ru.ifmo.rain.zakharevich.walk;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+public class WalkPipelineTest {
+
+    private final static int THREADS = 2;
+    private final static int FILES = 200_000;
+    private final static long TIMEOUT_SECONDS = 30;
+
+    interface Check {
+        void run() throws Exception;
+    }
+
+    private static void check(String name, Check check) throws InterruptedException {
+        Throwable[] error = new Throwable[1];
+        Thread thread = new Thread(() -> {
+            try {
+                check.run();
+            } catch (Throwable e) {
+                error[0] = e;
+            }
+        });
+        thread.setDaemon(true);
+        thread.start();
+        thread.join(TimeUnit.SECONDS.toMillis(TIMEOUT_SECONDS));
+        if (thread.isAlive()) {
+            throw new AssertionError(name + ": timed out after " + TIMEOUT_SECONDS + " s");
+        }
+        if (error[0] != null) {
+            throw new AssertionError(name + ": " + error[0], error[0]);
+        }
+        System.out.println(name + ": ok");
+    }
+
+    private static void require(boolean condition, String message) {
+        if (!condition) {
+            throw new AssertionError(message);
+        }
+    }
+
+    private static boolean causedBy(Throwable e, Class<? extends Throwable> type) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (type.isInstance(cause)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static IOException runPipeline(Writer writer, Function<String, String> hashFunction) {
+        try (WalkPipeline pipeline = new WalkPipeline(writer, hashFunction, THREADS)) {
+            for (int i = 0; i < FILES; i++) {
+                pipeline.submit("file" + i);
+            }
+        } catch (IOException e) {
+            return e;
+        }
+        return null;
+    }
+
+    private static void outputFailure() {
+        IOException writeError = new IOException("Disk quota exceeded");
+        Writer failing = new Writer() {
+            private long written;
+
+            @Override
+            public void write(char[] buffer, int offset, int length) throws IOException {
+                written += length;
+                if (written > 1 << 16) {
+                    throw writeError;
+                }
+            }
+
+            @Override
+            public void flush() {
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+        IOException e = runPipeline(failing, fileName -> "0000000000000000");
+        require(e != null, "output failure was not reported");
+        require(e.getMessage().equals(writeError.getMessage()), "unexpected message: " + e.getMessage());
+        require(e.getCause() == writeError, "write error was lost");
+    }
+
+    private static void hashError() {
+        IOException e = runPipeline(new StringWriter(), fileName -> {
+            if (fileName.equals("file1000")) {
+                throw new AssertionError("broken hash function");
+            }
+            return "0000000000000000";
+        });
+        require(e != null, "hash error was not reported");
+        require(causedBy(e, AssertionError.class), "hash error was lost: " + e);
+    }
+
+    private static void success() throws IOException {
+        StringWriter output = new StringWriter();
+        IOException e = runPipeline(output, fileName -> "0000000000000000");
+        if (e != null) {
+            throw e;
+        }
+        String[] lines = output.toString().split("\n");
+        require(lines.length == FILES, "expected " + FILES + " lines, got " + lines.length);
+        for (int i = 0; i < FILES; i++) {
+            require(lines[i].equals("0000000000000000 file" + i), "unexpected line " + i + ": " + lines[i]);
+        }
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        check("success", WalkPipelineTest::success);
+        check("outputFailure", WalkPipelineTest::outputFailure);
+        check("hashError", WalkPipelineTest::hashError);
+    }
+}
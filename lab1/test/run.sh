@@ -0,0 +1,11 @@
+#!/usr/bin/env bash
+
+out=test-classes
+
+javac -d ${out} ../src/ru/ifmo/rain/zakharevich/walk/*.java ru/ifmo/rain/zakharevich/walk/*.java
+status=0
+for test in WalkPipelineTest HashCacheTest; do
+    java -ea -cp ${out} ru.ifmo.rain.zakharevich.walk.${test} || status=1
+done
+rm -r ${out}
+exit ${status}
@@ -0,0 +1,148 @@
+package ru.ifmo.rain.zakharevich.arrayset;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.Random;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ArraySetBenchmark {
+
+    private final static long SEED = 3141592653L;
+
+    private final static int PROBE_COUNT = 1024;
+    private final static int RANGE_SIZE = 1000;
+
+    public enum KeyType {
+        INTEGER {
+            @Override
+            Object key(int value) {
+                return value;
+            }
+        },
+        STRING {
+            @Override
+            Object key(int value) {
+                return String.format("key%010d", value);
+            }
+        };
+
+        abstract Object key(int value);
+    }
+
+    public enum SetType {
+        ARRAY_SET {
+            @Override
+            NavigableSet<Object> create(List<Object> keys) {
+                return new ArraySet<>(keys);
+            }
+        },
+        TREE_SET {
+            @Override
+            NavigableSet<Object> create(List<Object> keys) {
+                return new TreeSet<>(keys);
+            }
+        },
+        CONCURRENT_SKIP_LIST_SET {
+            @Override
+            NavigableSet<Object> create(List<Object> keys) {
+                return new ConcurrentSkipListSet<>(keys);
+            }
+        };
+
+        abstract NavigableSet<Object> create(List<Object> keys);
+    }
+
+    @State(Scope.Benchmark)
+    public static class Data {
+        @Param({"10", "1000", "100000", "10000000", "100000000"})
+        public int size;
+
+        @Param({"INTEGER", "STRING"})
+        public KeyType keyType;
+
+        @Param({"ARRAY_SET", "TREE_SET", "CONCURRENT_SKIP_LIST_SET"})
+        public SetType setType;
+
+        private List<Object> keys;
+        private NavigableSet<Object> set;
+        private Object[] probes;
+        private Object rangeFrom;
+        private Object rangeTo;
+
+        @Setup(Level.Trial)
+        public void generate() {
+            Random random = new Random(SEED);
+            keys = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                keys.add(keyType.key(2 * i));
+            }
+            Collections.shuffle(keys, random);
+            set = setType.create(keys);
+
+            probes = new Object[PROBE_COUNT];
+            for (int i = 0; i < PROBE_COUNT; i++) {
+                probes[i] = keyType.key(random.nextInt(2 * size));
+            }
+            int rangeStart = size / 2 - Math.min(size, RANGE_SIZE) / 2;
+            rangeFrom = keyType.key(2 * rangeStart);
+            rangeTo = keyType.key(2 * (rangeStart + Math.min(size, RANGE_SIZE)));
+        }
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public NavigableSet<Object> construct(Data data) {
+        return data.setType.create(data.keys);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PROBE_COUNT)
+    public void contains(Data data, Blackhole blackhole) {
+        for (Object probe : data.probes) {
+            blackhole.consume(data.set.contains(probe));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PROBE_COUNT)
+    public void floor(Data data, Blackhole blackhole) {
+        for (Object probe : data.probes) {
+            blackhole.consume(data.set.floor(probe));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PROBE_COUNT)
+    public void ceiling(Data data, Blackhole blackhole) {
+        for (Object probe : data.probes) {
+            blackhole.consume(data.set.ceiling(probe));
+        }
+    }
+
+    @Benchmark
+    public void rangeIteration(Data data, Blackhole blackhole) {
+        for (Object key : data.set.subSet(data.rangeFrom, true, data.rangeTo, false)) {
+            blackhole.consume(key);
+        }
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public void descendingTraversal(Data data, Blackhole blackhole) {
+        for (Object key : data.set.descendingSet()) {
+            blackhole.consume(key);
+        }
+    }
+}
@@ -0,0 +1,20 @@
+#!/usr/bin/env bash
+# Needs JMH 1.37 (jmh-core and jmh-generator-annprocess), jopt-simple 5.0.4 and
+# commons-math3 3.6.1 in lib/. ./fetch-lib.sh downloads them from Maven Central.
+
+cd "$(dirname "$0")"
+
+libs=(jmh-core jmh-generator-annprocess jopt-simple commons-math3)
+for lib in "${libs[@]}"; do
+    if [ ! -f "lib/${lib}.jar" ]; then
+        echo "Missing lib/${lib}.jar: run ./fetch-lib.sh to download the JMH jars" >&2
+        exit 1
+    fi
+done
+
+jmh=lib/jmh-core.jar:lib/jmh-generator-annprocess.jar:lib/jopt-simple.jar:lib/commons-math3.jar
+out=benchmark-classes
+
+javac -cp ${jmh} -d ${out} ../src/ru/ifmo/rain/zakharevich/arrayset/*.java ru/ifmo/rain/zakharevich/arrayset/*.java
+java -cp ${jmh}:${out} org.openjdk.jmh.Main ArraySetBenchmark -prof gc -rf json -rff arrayset-benchmark.json "$@"
+rm -r ${out}
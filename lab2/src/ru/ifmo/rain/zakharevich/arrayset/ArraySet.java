@@ -6,16 +6,15 @@ public class ArraySet<E> extends AbstractSet<E> implements NavigableSet<E> {
 
     private final String UNSUPPORTED_OPERATION_MESSAGE = "ArraySet is immutable";
 
-    private final List<E> elements;
+    private final ArrayView<E> elements;
     private Comparator<? super E> comparator;
     private ArraySet<E> descendingSet;
+    private final SearchIndex<E> searchIndex;
 
     public ArraySet(Collection<? extends E> collection, Comparator<? super E> comparator) {
-        SortedSet<E> sortingSet = new TreeSet<>(comparator);
-        sortingSet.addAll(collection);
-
-        elements = new ArrayList<>(sortingSet);
+        elements = new ArrayView<>(SortedArrays.sortedDistinct(collection, comparator));
         this.comparator = comparator;
+        this.searchIndex = null;
     }
 
     public ArraySet(Collection<? extends E> collection) {
@@ -26,13 +25,69 @@ public class ArraySet<E> extends AbstractSet<E> implements NavigableSet<E> {
         this(Collections.emptyList());
     }
 
-    private ArraySet(List<E> elements, Comparator<? super E> comparator) {
+    private ArraySet(ArrayView<E> elements, Comparator<? super E> comparator, SearchIndex<E> searchIndex) {
         this.elements = elements;
         this.comparator = comparator;
+        this.searchIndex = searchIndex;
+    }
+
+    static <E> ArraySet<E> ofSorted(List<E> elements, Comparator<? super E> comparator) {
+        return ofSorted(elements, comparator, null);
+    }
+
+    static <E> ArraySet<E> ofSorted(List<E> elements, Comparator<? super E> comparator, SearchIndex<E> searchIndex) {
+        return new ArraySet<>(new ArrayView<>(elements), comparator, searchIndex);
+    }
+
+    public static <E> ArraySet<E> readOptimized(Collection<? extends E> collection, Comparator<? super E> comparator) {
+        List<E> elements = SortedArrays.sortedDistinct(collection, comparator);
+        return new ArraySet<>(new ArrayView<>(elements), comparator, new EytzingerIndex<>(elements, comparator));
+    }
+
+    public static <E> ArraySet<E> readOptimized(Collection<? extends E> collection) {
+        return readOptimized(collection, null);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<E> sortedElementsOf(Collection<?> collection) {
+        if (collection instanceof ArraySet && Objects.equals(((ArraySet<?>) collection).comparator, comparator)) {
+            return ((ArraySet<E>) collection).elements;
+        }
+        return SortedArrays.sortedDistinct((Collection<? extends E>) collection, comparator);
+    }
+
+    private ArraySet<E> withElements(List<E> result) {
+        return result.size() == elements.size() ? this : ofSorted(result, comparator);
+    }
+
+    public ArraySet<E> withAll(Collection<? extends E> collection) {
+        return withElements(SortedArrays.union(elements, sortedElementsOf(collection), comparator));
+    }
+
+    public ArraySet<E> withoutAll(Collection<?> collection) {
+        return withElements(SortedArrays.difference(elements, sortedElementsOf(collection), comparator));
+    }
+
+    public ArraySet<E> union(ArraySet<? extends E> other) {
+        return withAll(other);
+    }
+
+    public ArraySet<E> intersect(ArraySet<?> other) {
+        return withElements(SortedArrays.intersection(elements, sortedElementsOf(other), comparator));
+    }
+
+    public ArraySet<E> difference(ArraySet<?> other) {
+        return withoutAll(other);
+    }
+
+    private int search(E e) {
+        return searchIndex != null
+                ? elements.fromRootSearch(searchIndex.binarySearch(e))
+                : Collections.binarySearch(elements, e, comparator);
     }
 
     private int getIndexOfElement(E e, int shiftIfFound, int shiftIfNotFound) {
-        int index = Collections.binarySearch(elements, e, comparator);
+        int index = search(e);
         return index >= 0 ? index + shiftIfFound : -index - 1 + shiftIfNotFound;
     }
 
@@ -80,6 +135,95 @@ public class ArraySet<E> extends AbstractSet<E> implements NavigableSet<E> {
         return getElementByIndex(higherIndex(e));
     }
 
+    public boolean[] containsEach(List<? extends E> probes) {
+        boolean[] result = new boolean[probes.size()];
+        forEachLowerBound(probes, 0, probes.size(), (i, index) -> result[i] = isEqualAt(index, probes.get(i)));
+        return result;
+    }
+
+    public boolean[] containsEach(List<? extends E> probes, int threads) throws InterruptedException {
+        boolean[] result = new boolean[probes.size()];
+        forEachLowerBound(probes, threads, (i, index) -> result[i] = isEqualAt(index, probes.get(i)));
+        return result;
+    }
+
+    public List<E> floorEach(List<? extends E> probes) {
+        Object[] result = new Object[probes.size()];
+        forEachLowerBound(probes, 0, probes.size(), (i, index) -> result[i] = floorAt(index, probes.get(i)));
+        return asList(result);
+    }
+
+    public List<E> floorEach(List<? extends E> probes, int threads) throws InterruptedException {
+        Object[] result = new Object[probes.size()];
+        forEachLowerBound(probes, threads, (i, index) -> result[i] = floorAt(index, probes.get(i)));
+        return asList(result);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <E> List<E> asList(Object[] result) {
+        return (List<E>) Arrays.asList(result);
+    }
+
+    private boolean isEqualAt(int index, E e) {
+        return index < elements.size() && SortedArrays.compare(elements.get(index), e, comparator) == 0;
+    }
+
+    private E floorAt(int index, E e) {
+        return isEqualAt(index, e) ? elements.get(index) : getElementByIndex(index - 1);
+    }
+
+    private interface LowerBoundConsumer {
+        void accept(int probeIndex, int lowerBound);
+    }
+
+    private void forEachLowerBound(List<? extends E> probes, int from, int to, LowerBoundConsumer consumer) {
+        int index = 0;
+        for (int i = from; i < to; i++) {
+            E probe = probes.get(i);
+            if (i == from || SortedArrays.compare(probes.get(i - 1), probe, comparator) > 0) {
+                index = 0;
+            }
+            index = SortedArrays.gallop(elements, index, probe, comparator);
+            consumer.accept(i, index);
+        }
+    }
+
+    private void forEachLowerBound(List<? extends E> probes, int threads, LowerBoundConsumer consumer)
+            throws InterruptedException {
+        if (threads <= 0) {
+            throw new IllegalArgumentException("Threads number must be positive");
+        }
+        int parts = Math.max(1, Math.min(threads, probes.size()));
+        List<Thread> workers = new ArrayList<>(parts);
+        RuntimeException[] errors = new RuntimeException[parts];
+        for (int part = 0; part < parts; part++) {
+            int from = (int) ((long) probes.size() * part / parts);
+            int to = (int) ((long) probes.size() * (part + 1) / parts);
+            int worker = part;
+            Thread thread = new Thread(() -> {
+                try {
+                    forEachLowerBound(probes, from, to, consumer);
+                } catch (RuntimeException e) {
+                    errors[worker] = e;
+                }
+            });
+            workers.add(thread);
+            thread.start();
+        }
+        try {
+            for (Thread worker : workers) {
+                worker.join();
+            }
+        } finally {
+            workers.forEach(Thread::interrupt);
+        }
+        for (RuntimeException error : errors) {
+            if (error != null) {
+                throw error;
+            }
+        }
+    }
+
     @Override
     public E pollFirst() {
         throw new UnsupportedOperationException(UNSUPPORTED_OPERATION_MESSAGE);
@@ -93,37 +237,23 @@ public class ArraySet<E> extends AbstractSet<E> implements NavigableSet<E> {
     @Override
     @SuppressWarnings("unchecked")
     public boolean contains(Object o) {
-        return Collections.binarySearch(elements, (E) o, comparator) >= 0;
+        return search((E) o) >= 0;
     }
 
     @Override
     public Iterator<E> iterator() {
-        return Collections.unmodifiableList(elements).iterator();
+        return elements.iterator();
     }
 
-    private class ReverseView<E> extends AbstractList<E> {
-
-        private List<E> backingList;
-
-        ReverseView(List<E> list) {
-            backingList = list;
-        }
-
-        @Override
-        public E get(int index) {
-            return backingList.get(size() - index - 1);
-        }
-
-        @Override
-        public int size() {
-            return backingList.size();
-        }
+    @Override
+    public Spliterator<E> spliterator() {
+        return new ArraySpliterator<>(elements, 0, elements.size(), comparator);
     }
 
     @Override
     public NavigableSet<E> descendingSet() {
         if (descendingSet == null) {
-            descendingSet = new ArraySet<>(new ReverseView<>(elements), Collections.reverseOrder(comparator));
+            descendingSet = new ArraySet<>(elements.reversed(), Collections.reverseOrder(comparator), searchIndex);
             descendingSet.descendingSet = this;
         }
         return descendingSet;
@@ -137,10 +267,10 @@ public class ArraySet<E> extends AbstractSet<E> implements NavigableSet<E> {
     private NavigableSet<E> subSetFromElements(int fromIndex, int toIndex) {
 
         if (fromIndex >= elements.size() || toIndex > elements.size() || fromIndex > toIndex) {
-            return new ArraySet<>(Collections.emptyList(), comparator);
+            return new ArraySet<>(elements.subList(0, 0), comparator, searchIndex);
         }
 
-        return new ArraySet<>(elements.subList(fromIndex, toIndex), comparator);
+        return new ArraySet<>(elements.subList(fromIndex, toIndex), comparator, searchIndex);
     }
 
     @Override
@@ -0,0 +1,67 @@
+package ru.ifmo.rain.zakharevich.arrayset;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+class ArraySpliterator<E> implements Spliterator<E> {
+
+    private final static int CHARACTERISTICS = SIZED | SUBSIZED | ORDERED | SORTED | DISTINCT | IMMUTABLE;
+
+    private final List<E> elements;
+    private final Comparator<? super E> comparator;
+    private int index;
+    private final int fence;
+
+    ArraySpliterator(List<E> elements, int index, int fence, Comparator<? super E> comparator) {
+        this.elements = elements;
+        this.index = index;
+        this.fence = fence;
+        this.comparator = comparator;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super E> action) {
+        if (index < fence) {
+            action.accept(elements.get(index++));
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public void forEachRemaining(Consumer<? super E> action) {
+        int end = fence;
+        for (int i = index; i < end; i++) {
+            action.accept(elements.get(i));
+        }
+        index = end;
+    }
+
+    @Override
+    public Spliterator<E> trySplit() {
+        int from = index;
+        int mid = (from + fence) >>> 1;
+        if (from >= mid) {
+            return null;
+        }
+        index = mid;
+        return new ArraySpliterator<>(elements, from, mid, comparator);
+    }
+
+    @Override
+    public long estimateSize() {
+        return fence - index;
+    }
+
+    @Override
+    public int characteristics() {
+        return CHARACTERISTICS;
+    }
+
+    @Override
+    public Comparator<? super E> getComparator() {
+        return comparator;
+    }
+}
@@ -0,0 +1,59 @@
+package ru.ifmo.rain.zakharevich.arrayset;
+
+import java.util.AbstractList;
+import java.util.List;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+class ArrayView<E> extends AbstractList<E> implements RandomAccess {
+
+    private final List<E> root;
+    private final int offset;
+    private final int length;
+    private final boolean descending;
+
+    ArrayView(List<E> root) {
+        this(root, 0, root.size(), false);
+    }
+
+    private ArrayView(List<E> root, int offset, int length, boolean descending) {
+        this.root = root;
+        this.offset = offset;
+        this.length = length;
+        this.descending = descending;
+    }
+
+    private int rootIndex(int index) {
+        return descending ? offset + length - 1 - index : offset + index;
+    }
+
+    @Override
+    public E get(int index) {
+        return root.get(rootIndex(Objects.checkIndex(index, length)));
+    }
+
+    @Override
+    public int size() {
+        return length;
+    }
+
+    @Override
+    public ArrayView<E> subList(int fromIndex, int toIndex) {
+        Objects.checkFromToIndex(fromIndex, toIndex, length);
+        int from = descending ? offset + length - toIndex : offset + fromIndex;
+        return new ArrayView<>(root, from, toIndex - fromIndex, descending);
+    }
+
+    ArrayView<E> reversed() {
+        return new ArrayView<>(root, offset, length, !descending);
+    }
+
+    int fromRootSearch(int rootResult) {
+        if (rootResult >= offset && rootResult < offset + length) {
+            return descending ? offset + length - 1 - rootResult : rootResult - offset;
+        }
+        int insertionPoint = rootResult >= 0 ? rootResult : -rootResult - 1;
+        insertionPoint = Math.max(offset, Math.min(insertionPoint, offset + length));
+        return -(descending ? offset + length - insertionPoint : insertionPoint - offset) - 1;
+    }
+}
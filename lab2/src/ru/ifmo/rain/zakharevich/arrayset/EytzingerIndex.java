@@ -0,0 +1,53 @@
+package ru.ifmo.rain.zakharevich.arrayset;
+
+import java.util.Comparator;
+import java.util.List;
+
+class EytzingerIndex<E> implements SearchIndex<E> {
+
+    private final Object[] tree;
+    private final int[] ranks;
+    private final int size;
+    private final Comparator<? super E> comparator;
+
+    EytzingerIndex(List<E> sortedElements, Comparator<? super E> comparator) {
+        this.size = sortedElements.size();
+        this.tree = new Object[size + 1];
+        this.ranks = new int[size + 1];
+        this.comparator = comparator;
+        fill(sortedElements, 0, 1);
+    }
+
+    private int fill(List<E> sortedElements, int rank, int node) {
+        if (node <= size) {
+            rank = fill(sortedElements, rank, 2 * node);
+            tree[node] = sortedElements.get(rank);
+            ranks[node] = rank++;
+            rank = fill(sortedElements, rank, 2 * node + 1);
+        }
+        return rank;
+    }
+
+    @SuppressWarnings("unchecked")
+    private E node(int node) {
+        return (E) tree[node];
+    }
+
+    @Override
+    public int binarySearch(E key) {
+        int node = 1;
+        while (node <= size) {
+            if (SortedArrays.compare(node(node), key, comparator) < 0) {
+                node = 2 * node + 1;
+            } else {
+                node = 2 * node;
+            }
+        }
+        node >>>= Integer.numberOfTrailingZeros(~node) + 1;
+
+        if (node == 0) {
+            return -size - 1;
+        }
+        return SortedArrays.compare(node(node), key, comparator) == 0 ? ranks[node] : -ranks[node] - 1;
+    }
+}
@@ -0,0 +1,270 @@
+package ru.ifmo.rain.zakharevich.arrayset;
+
+import java.util.*;
+
+public class IntArraySet extends AbstractSet<Integer> implements NavigableSet<Integer> {
+
+    private final String UNSUPPORTED_OPERATION_MESSAGE = "IntArraySet is immutable";
+
+    private final int[] elements;
+    private final int fromIndex;
+    private final int toIndex;
+    private NavigableSet<Integer> descendingSet;
+
+    public IntArraySet(int[] values) {
+        int[] sorted = values.clone();
+        Arrays.sort(sorted);
+        int size = 0;
+        for (int i = 0; i < sorted.length; i++) {
+            if (i == 0 || sorted[i] != sorted[size - 1]) {
+                sorted[size++] = sorted[i];
+            }
+        }
+        elements = size == sorted.length ? sorted : Arrays.copyOf(sorted, size);
+        fromIndex = 0;
+        toIndex = size;
+    }
+
+    public IntArraySet(Collection<Integer> collection) {
+        this(collection.stream().mapToInt(Integer::intValue).toArray());
+    }
+
+    public IntArraySet() {
+        this(new int[0]);
+    }
+
+    private IntArraySet(int[] elements, int fromIndex, int toIndex) {
+        this.elements = elements;
+        this.fromIndex = fromIndex;
+        this.toIndex = toIndex;
+    }
+
+    private int getIndexOfElement(int e, int shiftIfFound, int shiftIfNotFound) {
+        int index = Arrays.binarySearch(elements, fromIndex, toIndex, e);
+        return (index >= 0 ? index + shiftIfFound : -index - 1 + shiftIfNotFound) - fromIndex;
+    }
+
+    private int validIndexOrNone(int index) {
+        return isValidIndex(index) ? index : -1;
+    }
+
+    public int lowerIndex(int e) {
+        return validIndexOrNone(getIndexOfElement(e, -1, -1));
+    }
+
+    public int floorIndex(int e) {
+        return validIndexOrNone(getIndexOfElement(e, 0, -1));
+    }
+
+    public int ceilingIndex(int e) {
+        return validIndexOrNone(getIndexOfElement(e, 0, 0));
+    }
+
+    public int higherIndex(int e) {
+        return validIndexOrNone(getIndexOfElement(e, 1, 0));
+    }
+
+    private boolean isValidIndex(int index) {
+        return index >= 0 && index < size();
+    }
+
+    public int getInt(int index) {
+        if (!isValidIndex(index)) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", size: " + size());
+        }
+        return elements[fromIndex + index];
+    }
+
+    private Integer getElementByIndex(int index) {
+        return index >= 0 ? elements[fromIndex + index] : null;
+    }
+
+    public boolean contains(int e) {
+        return Arrays.binarySearch(elements, fromIndex, toIndex, e) >= 0;
+    }
+
+    public int firstInt() {
+        if (isEmpty()) {
+            throw new NoSuchElementException();
+        }
+        return elements[fromIndex];
+    }
+
+    public int lastInt() {
+        if (isEmpty()) {
+            throw new NoSuchElementException();
+        }
+        return elements[toIndex - 1];
+    }
+
+    public int[] toIntArray() {
+        return Arrays.copyOfRange(elements, fromIndex, toIndex);
+    }
+
+    @Override
+    public Integer lower(Integer e) {
+        return getElementByIndex(lowerIndex(e));
+    }
+
+    @Override
+    public Integer floor(Integer e) {
+        return getElementByIndex(floorIndex(e));
+    }
+
+    @Override
+    public Integer ceiling(Integer e) {
+        return getElementByIndex(ceilingIndex(e));
+    }
+
+    @Override
+    public Integer higher(Integer e) {
+        return getElementByIndex(higherIndex(e));
+    }
+
+    @Override
+    public Integer pollFirst() {
+        throw new UnsupportedOperationException(UNSUPPORTED_OPERATION_MESSAGE);
+    }
+
+    @Override
+    public Integer pollLast() {
+        throw new UnsupportedOperationException(UNSUPPORTED_OPERATION_MESSAGE);
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return o instanceof Integer && contains(((Integer) o).intValue());
+    }
+
+    @Override
+    public Iterator<Integer> iterator() {
+        return new PrimitiveIterator.OfInt() {
+            private int index = fromIndex;
+
+            @Override
+            public boolean hasNext() {
+                return index < toIndex;
+            }
+
+            @Override
+            public int nextInt() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return elements[index++];
+            }
+        };
+    }
+
+    @Override
+    public Spliterator.OfInt spliterator() {
+        return Spliterators.spliterator(elements, fromIndex, toIndex,
+                Spliterator.ORDERED | Spliterator.DISTINCT | Spliterator.SORTED | Spliterator.IMMUTABLE
+                        | Spliterator.NONNULL);
+    }
+
+    private class BoxedView extends AbstractList<Integer> implements RandomAccess {
+
+        @Override
+        public Integer get(int index) {
+            return getInt(index);
+        }
+
+        @Override
+        public int size() {
+            return IntArraySet.this.size();
+        }
+    }
+
+    @Override
+    public NavigableSet<Integer> descendingSet() {
+        if (descendingSet == null) {
+            descendingSet = ArraySet.ofSorted(new BoxedView(), null).descendingSet();
+        }
+        return descendingSet;
+    }
+
+    @Override
+    public Iterator<Integer> descendingIterator() {
+        return descendingSet().iterator();
+    }
+
+    private IntArraySet subSetFromElements(int fromIndex, int toIndex) {
+
+        if (fromIndex >= size() || toIndex > size() || fromIndex > toIndex) {
+            return new IntArraySet(elements, this.fromIndex, this.fromIndex);
+        }
+
+        return new IntArraySet(elements, this.fromIndex + fromIndex, this.fromIndex + toIndex);
+    }
+
+    public IntArraySet subSet(int fromElement, boolean fromInclusive, int toElement, boolean toInclusive) {
+
+        int fromIndex = getIndexOfElement(fromElement, fromInclusive ? 0 : 1, 0);
+        int toIndex = getIndexOfElement(toElement, toInclusive ? 0 : -1, -1) + 1;
+        return subSetFromElements(fromIndex, toIndex);
+    }
+
+    public IntArraySet headSet(int toElement, boolean inclusive) {
+
+        int toIndex = getIndexOfElement(toElement, inclusive ? 0 : -1, -1) + 1;
+        return subSetFromElements(0, toIndex);
+    }
+
+    public IntArraySet tailSet(int fromElement, boolean inclusive) {
+
+        int fromIndex = getIndexOfElement(fromElement, inclusive ? 0 : 1, 0);
+        return subSetFromElements(fromIndex, size());
+    }
+
+    @Override
+    public NavigableSet<Integer> subSet(Integer fromElement, boolean fromInclusive,
+                                        Integer toElement, boolean toInclusive) {
+        return subSet(fromElement.intValue(), fromInclusive, toElement.intValue(), toInclusive);
+    }
+
+    @Override
+    public NavigableSet<Integer> headSet(Integer toElement, boolean inclusive) {
+        return headSet(toElement.intValue(), inclusive);
+    }
+
+    @Override
+    public NavigableSet<Integer> tailSet(Integer fromElement, boolean inclusive) {
+        return tailSet(fromElement.intValue(), inclusive);
+    }
+
+    @Override
+    public Comparator<? super Integer> comparator() {
+        return null;
+    }
+
+    @Override
+    public SortedSet<Integer> subSet(Integer fromElement, Integer toElement) {
+        return subSet(fromElement, true, toElement, false);
+    }
+
+    @Override
+    public SortedSet<Integer> headSet(Integer toElement) {
+        return headSet(toElement, false);
+    }
+
+    @Override
+    public SortedSet<Integer> tailSet(Integer fromElement) {
+        return tailSet(fromElement, true);
+    }
+
+    @Override
+    public Integer first() {
+        return firstInt();
+    }
+
+    @Override
+    public Integer last() {
+        return lastInt();
+    }
+
+    @Override
+    public int size() {
+        return toIndex - fromIndex;
+    }
+}
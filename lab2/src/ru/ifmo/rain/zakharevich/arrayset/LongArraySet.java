@@ -0,0 +1,270 @@
+package ru.ifmo.rain.zakharevich.arrayset;
+
+import java.util.*;
+
+public class LongArraySet extends AbstractSet<Long> implements NavigableSet<Long> {
+
+    private final String UNSUPPORTED_OPERATION_MESSAGE = "LongArraySet is immutable";
+
+    private final long[] elements;
+    private final int fromIndex;
+    private final int toIndex;
+    private NavigableSet<Long> descendingSet;
+
+    public LongArraySet(long[] values) {
+        long[] sorted = values.clone();
+        Arrays.sort(sorted);
+        int size = 0;
+        for (int i = 0; i < sorted.length; i++) {
+            if (i == 0 || sorted[i] != sorted[size - 1]) {
+                sorted[size++] = sorted[i];
+            }
+        }
+        elements = size == sorted.length ? sorted : Arrays.copyOf(sorted, size);
+        fromIndex = 0;
+        toIndex = size;
+    }
+
+    public LongArraySet(Collection<Long> collection) {
+        this(collection.stream().mapToLong(Long::longValue).toArray());
+    }
+
+    public LongArraySet() {
+        this(new long[0]);
+    }
+
+    private LongArraySet(long[] elements, int fromIndex, int toIndex) {
+        this.elements = elements;
+        this.fromIndex = fromIndex;
+        this.toIndex = toIndex;
+    }
+
+    private int getIndexOfElement(long e, int shiftIfFound, int shiftIfNotFound) {
+        int index = Arrays.binarySearch(elements, fromIndex, toIndex, e);
+        return (index >= 0 ? index + shiftIfFound : -index - 1 + shiftIfNotFound) - fromIndex;
+    }
+
+    private int validIndexOrNone(int index) {
+        return isValidIndex(index) ? index : -1;
+    }
+
+    public int lowerIndex(long e) {
+        return validIndexOrNone(getIndexOfElement(e, -1, -1));
+    }
+
+    public int floorIndex(long e) {
+        return validIndexOrNone(getIndexOfElement(e, 0, -1));
+    }
+
+    public int ceilingIndex(long e) {
+        return validIndexOrNone(getIndexOfElement(e, 0, 0));
+    }
+
+    public int higherIndex(long e) {
+        return validIndexOrNone(getIndexOfElement(e, 1, 0));
+    }
+
+    private boolean isValidIndex(int index) {
+        return index >= 0 && index < size();
+    }
+
+    public long getLong(int index) {
+        if (!isValidIndex(index)) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", size: " + size());
+        }
+        return elements[fromIndex + index];
+    }
+
+    private Long getElementByIndex(int index) {
+        return index >= 0 ? elements[fromIndex + index] : null;
+    }
+
+    public boolean contains(long e) {
+        return Arrays.binarySearch(elements, fromIndex, toIndex, e) >= 0;
+    }
+
+    public long firstLong() {
+        if (isEmpty()) {
+            throw new NoSuchElementException();
+        }
+        return elements[fromIndex];
+    }
+
+    public long lastLong() {
+        if (isEmpty()) {
+            throw new NoSuchElementException();
+        }
+        return elements[toIndex - 1];
+    }
+
+    public long[] toLongArray() {
+        return Arrays.copyOfRange(elements, fromIndex, toIndex);
+    }
+
+    @Override
+    public Long lower(Long e) {
+        return getElementByIndex(lowerIndex(e));
+    }
+
+    @Override
+    public Long floor(Long e) {
+        return getElementByIndex(floorIndex(e));
+    }
+
+    @Override
+    public Long ceiling(Long e) {
+        return getElementByIndex(ceilingIndex(e));
+    }
+
+    @Override
+    public Long higher(Long e) {
+        return getElementByIndex(higherIndex(e));
+    }
+
+    @Override
+    public Long pollFirst() {
+        throw new UnsupportedOperationException(UNSUPPORTED_OPERATION_MESSAGE);
+    }
+
+    @Override
+    public Long pollLast() {
+        throw new UnsupportedOperationException(UNSUPPORTED_OPERATION_MESSAGE);
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return o instanceof Long && contains(((Long) o).longValue());
+    }
+
+    @Override
+    public Iterator<Long> iterator() {
+        return new PrimitiveIterator.OfLong() {
+            private int index = fromIndex;
+
+            @Override
+            public boolean hasNext() {
+                return index < toIndex;
+            }
+
+            @Override
+            public long nextLong() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return elements[index++];
+            }
+        };
+    }
+
+    @Override
+    public Spliterator.OfLong spliterator() {
+        return Spliterators.spliterator(elements, fromIndex, toIndex,
+                Spliterator.ORDERED | Spliterator.DISTINCT | Spliterator.SORTED | Spliterator.IMMUTABLE
+                        | Spliterator.NONNULL);
+    }
+
+    private class BoxedView extends AbstractList<Long> implements RandomAccess {
+
+        @Override
+        public Long get(int index) {
+            return getLong(index);
+        }
+
+        @Override
+        public int size() {
+            return LongArraySet.this.size();
+        }
+    }
+
+    @Override
+    public NavigableSet<Long> descendingSet() {
+        if (descendingSet == null) {
+            descendingSet = ArraySet.ofSorted(new BoxedView(), null).descendingSet();
+        }
+        return descendingSet;
+    }
+
+    @Override
+    public Iterator<Long> descendingIterator() {
+        return descendingSet().iterator();
+    }
+
+    private LongArraySet subSetFromElements(int fromIndex, int toIndex) {
+
+        if (fromIndex >= size() || toIndex > size() || fromIndex > toIndex) {
+            return new LongArraySet(elements, this.fromIndex, this.fromIndex);
+        }
+
+        return new LongArraySet(elements, this.fromIndex + fromIndex, this.fromIndex + toIndex);
+    }
+
+    public LongArraySet subSet(long fromElement, boolean fromInclusive, long toElement, boolean toInclusive) {
+
+        int fromIndex = getIndexOfElement(fromElement, fromInclusive ? 0 : 1, 0);
+        int toIndex = getIndexOfElement(toElement, toInclusive ? 0 : -1, -1) + 1;
+        return subSetFromElements(fromIndex, toIndex);
+    }
+
+    public LongArraySet headSet(long toElement, boolean inclusive) {
+
+        int toIndex = getIndexOfElement(toElement, inclusive ? 0 : -1, -1) + 1;
+        return subSetFromElements(0, toIndex);
+    }
+
+    public LongArraySet tailSet(long fromElement, boolean inclusive) {
+
+        int fromIndex = getIndexOfElement(fromElement, inclusive ? 0 : 1, 0);
+        return subSetFromElements(fromIndex, size());
+    }
+
+    @Override
+    public NavigableSet<Long> subSet(Long fromElement, boolean fromInclusive,
+                                        Long toElement, boolean toInclusive) {
+        return subSet(fromElement.longValue(), fromInclusive, toElement.longValue(), toInclusive);
+    }
+
+    @Override
+    public NavigableSet<Long> headSet(Long toElement, boolean inclusive) {
+        return headSet(toElement.longValue(), inclusive);
+    }
+
+    @Override
+    public NavigableSet<Long> tailSet(Long fromElement, boolean inclusive) {
+        return tailSet(fromElement.longValue(), inclusive);
+    }
+
+    @Override
+    public Comparator<? super Long> comparator() {
+        return null;
+    }
+
+    @Override
+    public SortedSet<Long> subSet(Long fromElement, Long toElement) {
+        return subSet(fromElement, true, toElement, false);
+    }
+
+    @Override
+    public SortedSet<Long> headSet(Long toElement) {
+        return headSet(toElement, false);
+    }
+
+    @Override
+    public SortedSet<Long> tailSet(Long fromElement) {
+        return tailSet(fromElement, true);
+    }
+
+    @Override
+    public Long first() {
+        return firstLong();
+    }
+
+    @Override
+    public Long last() {
+        return lastLong();
+    }
+
+    @Override
+    public int size() {
+        return toIndex - fromIndex;
+    }
+}
@@ -0,0 +1,266 @@
+package ru.ifmo.rain.zakharevich.arrayset;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+public final class MappedArraySet {
+
+    private final static int MAGIC = 0x4D415331;
+    private final static int HEADER_BYTE_SIZE = 16;
+
+    private final static int STREAM_BUFFER_BYTE_SIZE = 1 << 16;
+
+    public final static Codec<Integer> INTEGER = new Codec<>(1) {
+        @Override
+        void write(List<Integer> elements, DataOutputStream output) throws IOException {
+            for (Integer element : elements) {
+                output.writeInt(element);
+            }
+        }
+
+        @Override
+        List<Integer> list(ByteBuffer data, int size) throws IOException {
+            checkLength(data, (long) size * Integer.BYTES);
+            return new MappedList<>(size) {
+                @Override
+                Integer read(int index) {
+                    return data.getInt(index * Integer.BYTES);
+                }
+            };
+        }
+    };
+
+    public final static Codec<Long> LONG = new Codec<>(2) {
+        @Override
+        void write(List<Long> elements, DataOutputStream output) throws IOException {
+            for (Long element : elements) {
+                output.writeLong(element);
+            }
+        }
+
+        @Override
+        List<Long> list(ByteBuffer data, int size) throws IOException {
+            checkLength(data, (long) size * Long.BYTES);
+            return new MappedList<>(size) {
+                @Override
+                Long read(int index) {
+                    return data.getLong(index * Long.BYTES);
+                }
+            };
+        }
+    };
+
+    public final static Codec<String> STRING = new Codec<>(3) {
+        @Override
+        void write(List<String> elements, DataOutputStream output) throws IOException {
+            long offset = 0;
+            output.writeInt(0);
+            for (String element : elements) {
+                offset += element.getBytes(StandardCharsets.UTF_8).length;
+                if (offset > Integer.MAX_VALUE) {
+                    throw new IOException("Strings are too long to be mapped");
+                }
+                output.writeInt((int) offset);
+            }
+            for (String element : elements) {
+                output.write(element.getBytes(StandardCharsets.UTF_8));
+            }
+        }
+
+        @Override
+        List<String> list(ByteBuffer data, int size) throws IOException {
+            long offsetsLength = ((long) size + 1) * Integer.BYTES;
+            if (data.capacity() < offsetsLength) {
+                throw new IOException("Mapped set file has unexpected length");
+            }
+            int bytesStart = (int) offsetsLength;
+            checkLength(data, offsetsLength + data.getInt(size * Integer.BYTES));
+            return new StringList(data, size, bytesStart);
+        }
+
+        @Override
+        SearchIndex<String> searchIndex(List<String> elements) {
+            return (StringList) elements;
+        }
+    };
+
+    private MappedArraySet() {
+    }
+
+    public static <E> void write(Collection<? extends E> collection, Codec<E> codec, Path file) throws IOException {
+        List<E> elements = SortedArrays.sortedDistinct(collection, null);
+        Path directory = file.toAbsolutePath().getParent();
+        Path temporary = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+        try {
+            try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporary),
+                    STREAM_BUFFER_BYTE_SIZE))) {
+                output.writeInt(MAGIC);
+                output.writeInt(codec.id);
+                output.writeLong(elements.size());
+                codec.write(elements, output);
+            }
+            Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    public static <E> ArraySet<E> open(Path file, Codec<E> codec) throws IOException {
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() < HEADER_BYTE_SIZE || channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("Not a mapped set file: " + file);
+            }
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        if (buffer.getInt(0) != MAGIC) {
+            throw new IOException("Not a mapped set file: " + file);
+        }
+        if (buffer.getInt(Integer.BYTES) != codec.id) {
+            throw new IOException("Mapped set file " + file + " has a different element type");
+        }
+        long size = buffer.getLong(2 * Integer.BYTES);
+        if (size < 0 || size > Integer.MAX_VALUE) {
+            throw new IOException("Invalid mapped set file: " + file);
+        }
+        buffer.position(HEADER_BYTE_SIZE);
+        List<E> elements = codec.list(buffer.slice(), (int) size);
+        return ArraySet.ofSorted(elements, null, codec.searchIndex(elements));
+    }
+
+    public abstract static class Codec<E> {
+        private final int id;
+
+        private Codec(int id) {
+            this.id = id;
+        }
+
+        abstract void write(List<E> elements, DataOutputStream output) throws IOException;
+
+        abstract List<E> list(ByteBuffer data, int size) throws IOException;
+
+        SearchIndex<E> searchIndex(List<E> elements) {
+            return null;
+        }
+
+        static void checkLength(ByteBuffer data, long length) throws IOException {
+            if (data.capacity() != length) {
+                throw new IOException("Mapped set file has unexpected length");
+            }
+        }
+    }
+
+    private abstract static class MappedList<E> extends AbstractList<E> implements RandomAccess {
+        private final int size;
+
+        MappedList(int size) {
+            this.size = size;
+        }
+
+        abstract E read(int index);
+
+        @Override
+        public E get(int index) {
+            return read(Objects.checkIndex(index, size));
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+
+    private static class StringList extends MappedList<String> implements SearchIndex<String> {
+        private final ByteBuffer data;
+        private final int bytesStart;
+
+        StringList(ByteBuffer data, int size, int bytesStart) {
+            super(size);
+            this.data = data;
+            this.bytesStart = bytesStart;
+        }
+
+        private int start(int index) {
+            return bytesStart + data.getInt(index * Integer.BYTES);
+        }
+
+        @Override
+        String read(int index) {
+            int start = start(index);
+            byte[] bytes = new byte[start(index + 1) - start];
+            ByteBuffer source = data.duplicate();
+            source.position(start);
+            source.get(bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        @Override
+        public int binarySearch(String key) {
+            if (hasUnpairedSurrogate(key)) {
+                return Collections.binarySearch(this, key);
+            }
+            byte[] probe = key.getBytes(StandardCharsets.UTF_8);
+            int low = 0;
+            int high = size() - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                int comparison = compareAt(mid, probe);
+                if (comparison < 0) {
+                    low = mid + 1;
+                } else if (comparison > 0) {
+                    high = mid - 1;
+                } else {
+                    return mid;
+                }
+            }
+            return -low - 1;
+        }
+
+        private int compareAt(int index, byte[] probe) {
+            int start = start(index);
+            int length = start(index + 1) - start;
+            int common = Math.min(length, probe.length);
+            for (int i = 0; i < common; i++) {
+                int a = data.get(start + i) & 0xFF;
+                int b = probe[i] & 0xFF;
+                if (a != b) {
+                    return utf16Order(a) - utf16Order(b);
+                }
+            }
+            return length - probe.length;
+        }
+
+        // UTF-8 bytes sort by code point, but String.compareTo puts supplementary characters
+        // (lead bytes F0-F4) before U+E000-U+FFFF (lead bytes EE-EF)
+        private static int utf16Order(int b) {
+            return b >= 0xF0 ? b - 2 : b >= 0xEE ? b + 5 : b;
+        }
+
+        private static boolean hasUnpairedSurrogate(String s) {
+            for (int i = 0; i < s.length(); i++) {
+                char c = s.charAt(i);
+                if (Character.isHighSurrogate(c) && i + 1 < s.length() && Character.isLowSurrogate(s.charAt(i + 1))) {
+                    i++;
+                } else if (Character.isSurrogate(c)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
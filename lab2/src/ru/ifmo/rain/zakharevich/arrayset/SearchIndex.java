@@ -0,0 +1,5 @@
+package ru.ifmo.rain.zakharevich.arrayset;
+
+interface SearchIndex<E> {
+    int binarySearch(E key);
+}
@@ -0,0 +1,220 @@
+package ru.ifmo.rain.zakharevich.arrayset;
+
+import java.util.*;
+
+final class SortedArrays {
+
+    private final static int PARALLEL_SORT_THRESHOLD = 1 << 16;
+    private final static int GALLOP_SIZE_RATIO = 16;
+
+    private SortedArrays() {
+    }
+
+    @SuppressWarnings("unchecked")
+    static <E> int compare(E a, E b, Comparator<? super E> comparator) {
+        return comparator == null ? ((Comparable<? super E>) a).compareTo(b) : comparator.compare(a, b);
+    }
+
+    private static <E> boolean isSortedSetWith(Collection<? extends E> collection, Comparator<? super E> comparator) {
+        return collection instanceof SortedSet && Objects.equals(((SortedSet<?>) collection).comparator(), comparator);
+    }
+
+    static <E> List<E> sortedDistinct(Collection<? extends E> collection, Comparator<? super E> comparator) {
+        @SuppressWarnings("unchecked")
+        E[] elements = (E[]) collection.toArray();
+        if (isSortedSetWith(collection, comparator)) {
+            return Arrays.asList(elements);
+        }
+
+        boolean sorted = true;
+        boolean distinct = true;
+        for (int i = 1; i < elements.length && sorted; i++) {
+            int comparison = compare(elements[i - 1], elements[i], comparator);
+            sorted = comparison <= 0;
+            distinct &= comparison < 0;
+        }
+        if (sorted && distinct) {
+            return Arrays.asList(elements);
+        }
+        if (!sorted) {
+            if (elements.length >= PARALLEL_SORT_THRESHOLD) {
+                Arrays.parallelSort(elements, comparator);
+            } else {
+                Arrays.sort(elements, comparator);
+            }
+        }
+
+        int size = 0;
+        for (int i = 0; i < elements.length; i++) {
+            if (size == 0 || compare(elements[size - 1], elements[i], comparator) != 0) {
+                elements[size++] = elements[i];
+            }
+        }
+        return Arrays.asList(size == elements.length ? elements : Arrays.copyOf(elements, size));
+    }
+
+    private static boolean shouldGallop(int smallSize, int largeSize) {
+        return (long) smallSize * GALLOP_SIZE_RATIO < largeSize;
+    }
+
+    static <E> int gallop(List<? extends E> list, int from, E key, Comparator<? super E> comparator) {
+        int size = list.size();
+        int bound = 1;
+        while (bound <= size - from && compare(list.get(from + bound - 1), key, comparator) < 0) {
+            bound <<= 1;
+        }
+        int low = from + bound / 2;
+        int high = from + Math.min(bound - 1, size - from);
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (compare(list.get(mid), key, comparator) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static <E> int copy(List<? extends E> list, int from, int to, Object[] result, int size) {
+        for (int i = from; i < to; i++) {
+            result[size++] = list.get(i);
+        }
+        return size;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <E> List<E> asList(Object[] result, int size) {
+        return (List<E>) Arrays.asList(size == result.length ? result : Arrays.copyOf(result, size));
+    }
+
+    static <E> List<E> union(List<? extends E> left, List<? extends E> right, Comparator<? super E> comparator) {
+        Object[] result = new Object[left.size() + right.size()];
+        int size = 0;
+        if (shouldGallop(right.size(), left.size()) || shouldGallop(left.size(), right.size())) {
+            boolean leftIsLarge = left.size() > right.size();
+            List<? extends E> large = leftIsLarge ? left : right;
+            List<? extends E> small = leftIsLarge ? right : left;
+            int i = 0;
+            for (E e : small) {
+                int j = gallop(large, i, e, comparator);
+                size = copy(large, i, j, result, size);
+                i = j;
+                if (i < large.size() && compare(large.get(i), e, comparator) == 0) {
+                    result[size++] = leftIsLarge ? large.get(i) : e;
+                    i++;
+                } else {
+                    result[size++] = e;
+                }
+            }
+            size = copy(large, i, large.size(), result, size);
+            return asList(result, size);
+        }
+
+        int i = 0;
+        int j = 0;
+        while (i < left.size() && j < right.size()) {
+            E a = left.get(i);
+            E b = right.get(j);
+            int comparison = compare(a, b, comparator);
+            if (comparison <= 0) {
+                result[size++] = a;
+                i++;
+                if (comparison == 0) {
+                    j++;
+                }
+            } else {
+                result[size++] = b;
+                j++;
+            }
+        }
+        size = copy(left, i, left.size(), result, size);
+        size = copy(right, j, right.size(), result, size);
+        return asList(result, size);
+    }
+
+    static <E> List<E> intersection(List<? extends E> left, List<? extends E> right, Comparator<? super E> comparator) {
+        Object[] result = new Object[Math.min(left.size(), right.size())];
+        int size = 0;
+        if (shouldGallop(right.size(), left.size()) || shouldGallop(left.size(), right.size())) {
+            boolean leftIsLarge = left.size() > right.size();
+            List<? extends E> large = leftIsLarge ? left : right;
+            List<? extends E> small = leftIsLarge ? right : left;
+            int i = 0;
+            for (E e : small) {
+                i = gallop(large, i, e, comparator);
+                if (i == large.size()) {
+                    break;
+                }
+                if (compare(large.get(i), e, comparator) == 0) {
+                    result[size++] = leftIsLarge ? large.get(i) : e;
+                    i++;
+                }
+            }
+            return asList(result, size);
+        }
+
+        int i = 0;
+        int j = 0;
+        while (i < left.size() && j < right.size()) {
+            E a = left.get(i);
+            int comparison = compare(a, right.get(j), comparator);
+            if (comparison < 0) {
+                i++;
+            } else if (comparison > 0) {
+                j++;
+            } else {
+                result[size++] = a;
+                i++;
+                j++;
+            }
+        }
+        return asList(result, size);
+    }
+
+    static <E> List<E> difference(List<? extends E> left, List<? extends E> right, Comparator<? super E> comparator) {
+        Object[] result = new Object[left.size()];
+        int size = 0;
+        if (shouldGallop(right.size(), left.size())) {
+            int i = 0;
+            for (E e : right) {
+                int j = gallop(left, i, e, comparator);
+                size = copy(left, i, j, result, size);
+                i = j;
+                if (i < left.size() && compare(left.get(i), e, comparator) == 0) {
+                    i++;
+                }
+            }
+            size = copy(left, i, left.size(), result, size);
+            return asList(result, size);
+        }
+        if (shouldGallop(left.size(), right.size())) {
+            int j = 0;
+            for (E e : left) {
+                j = gallop(right, j, e, comparator);
+                if (j == right.size() || compare(right.get(j), e, comparator) != 0) {
+                    result[size++] = e;
+                }
+            }
+            return asList(result, size);
+        }
+
+        int i = 0;
+        int j = 0;
+        while (i < left.size() && j < right.size()) {
+            E a = left.get(i);
+            int comparison = compare(a, right.get(j), comparator);
+            if (comparison < 0) {
+                result[size++] = a;
+                i++;
+            } else {
+                j++;
+                if (comparison == 0) {
+                    i++;
+                }
+            }
+        }
+        size = copy(left, i, left.size(), result, size);
+        return asList(result, size);
+    }
+}
@@ -0,0 +1,220 @@
+package ru.ifmo.rain.zakharevich.studentdb;
+
+import info.kgeorgiy.java.advanced.student.Group;
+import info.kgeorgiy.java.advanced.student.Student;
+import info.kgeorgiy.java.advanced.student.StudentGroupQuery;
+
+import java.lang.ref.WeakReference;
+import java.util.*;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+public class CachingStudentDB implements StudentGroupQuery {
+
+    private final StudentDB db;
+    private final Map<Key, Object> cache;
+
+    private WeakReference<Collection<Student>> students;
+    private long version;
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    public CachingStudentDB(int capacity) {
+        this(new StudentDB(), capacity);
+    }
+
+    public CachingStudentDB(StudentDB db, int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Cache capacity must be positive");
+        }
+        this.db = db;
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Object> eldest) {
+                if (size() > capacity) {
+                    evictions++;
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    public synchronized void invalidate() {
+        students = null;
+        version++;
+        cache.clear();
+    }
+
+    public synchronized long getVersion() {
+        return version;
+    }
+
+    public synchronized long getHitCount() {
+        return hits;
+    }
+
+    public synchronized long getMissCount() {
+        return misses;
+    }
+
+    public synchronized long getEvictionCount() {
+        return evictions;
+    }
+
+    public synchronized int size() {
+        return cache.size();
+    }
+
+    @SuppressWarnings("unchecked")
+    private <R> R cached(Collection<Student> students, String query, Object argument, Supplier<R> compute) {
+        Key key;
+        synchronized (this) {
+            if (this.students == null || this.students.get() != students) {
+                this.students = new WeakReference<>(students);
+                version++;
+                cache.clear();
+            }
+            key = new Key(version, query, argument);
+            Object value = cache.get(key);
+            if (value != null) {
+                hits++;
+                return (R) value;
+            }
+            misses++;
+        }
+        R value = compute.get();
+        synchronized (this) {
+            if (key.version == version) {
+                cache.put(key, value);
+            }
+        }
+        return value;
+    }
+
+    @Override
+    public List<String> getFirstNames(List<Student> students) {
+        return cached(students, "getFirstNames", null,
+                () -> Collections.unmodifiableList(db.getFirstNames(students)));
+    }
+
+    @Override
+    public List<String> getLastNames(List<Student> students) {
+        return cached(students, "getLastNames", null,
+                () -> Collections.unmodifiableList(db.getLastNames(students)));
+    }
+
+    @Override
+    public List<String> getGroups(List<Student> students) {
+        return cached(students, "getGroups", null,
+                () -> Collections.unmodifiableList(db.getGroups(students)));
+    }
+
+    @Override
+    public List<String> getFullNames(List<Student> students) {
+        return cached(students, "getFullNames", null,
+                () -> Collections.unmodifiableList(db.getFullNames(students)));
+    }
+
+    @Override
+    public Set<String> getDistinctFirstNames(List<Student> students) {
+        return cached(students, "getDistinctFirstNames", null,
+                () -> Collections.unmodifiableSet(db.getDistinctFirstNames(students)));
+    }
+
+    @Override
+    public String getMinStudentFirstName(List<Student> students) {
+        return cached(students, "getMinStudentFirstName", null, () -> db.getMinStudentFirstName(students));
+    }
+
+    @Override
+    public List<Student> sortStudentsById(Collection<Student> students) {
+        return cached(students, "sortStudentsById", null,
+                () -> Collections.unmodifiableList(db.sortStudentsById(students)));
+    }
+
+    @Override
+    public List<Student> sortStudentsByName(Collection<Student> students) {
+        return cached(students, "sortStudentsByName", null,
+                () -> Collections.unmodifiableList(db.sortStudentsByName(students)));
+    }
+
+    @Override
+    public List<Student> findStudentsByFirstName(Collection<Student> students, String name) {
+        return cached(students, "findStudentsByFirstName", name,
+                () -> Collections.unmodifiableList(db.findStudentsByFirstName(students, name)));
+    }
+
+    @Override
+    public List<Student> findStudentsByLastName(Collection<Student> students, String name) {
+        return cached(students, "findStudentsByLastName", name,
+                () -> Collections.unmodifiableList(db.findStudentsByLastName(students, name)));
+    }
+
+    @Override
+    public List<Student> findStudentsByGroup(Collection<Student> students, String group) {
+        return cached(students, "findStudentsByGroup", group,
+                () -> Collections.unmodifiableList(db.findStudentsByGroup(students, group)));
+    }
+
+    @Override
+    public Map<String, String> findStudentNamesByGroup(Collection<Student> students, String group) {
+        return cached(students, "findStudentNamesByGroup", group,
+                () -> Collections.unmodifiableMap(db.findStudentNamesByGroup(students, group)));
+    }
+
+    @Override
+    public List<Group> getGroupsByName(Collection<Student> students) {
+        return cached(students, "getGroupsByName", null,
+                () -> immutableGroups(db.getGroupsByName(students)));
+    }
+
+    @Override
+    public List<Group> getGroupsById(Collection<Student> students) {
+        return cached(students, "getGroupsById", null,
+                () -> immutableGroups(db.getGroupsById(students)));
+    }
+
+    @Override
+    public String getLargestGroup(Collection<Student> students) {
+        return cached(students, "getLargestGroup", null, () -> db.getLargestGroup(students));
+    }
+
+    @Override
+    public String getLargestGroupFirstName(Collection<Student> students) {
+        return cached(students, "getLargestGroupFirstName", null, () -> db.getLargestGroupFirstName(students));
+    }
+
+    private static List<Group> immutableGroups(List<Group> groups) {
+        return groups.stream()
+                .map(group -> new Group(group.getName(), List.copyOf(group.getStudents())))
+                .collect(Collectors.toUnmodifiableList());
+    }
+
+    private static class Key {
+        private final long version;
+        private final String query;
+        private final Object argument;
+
+        Key(long version, String query, Object argument) {
+            this.version = version;
+            this.query = query;
+            this.argument = argument;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) o;
+            return version == other.version && query.equals(other.query) && Objects.equals(argument, other.argument);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(version, query, argument);
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package ru.ifmo.rain.zakharevich.studentdb;
+
+import info.kgeorgiy.java.advanced.student.Group;
+import info.kgeorgiy.java.advanced.student.Student;
+
+import java.util.*;
+import java.util.function.ToIntFunction;
+import java.util.stream.Collector;
+import java.util.stream.Collectors;
+
+public class GroupReport {
+
+    private final NavigableMap<String, Bucket> buckets;
+    private final String largestGroup;
+    private final String largestGroupFirstName;
+    private List<Group> groupsByName;
+    private List<Group> groupsById;
+
+    private GroupReport(NavigableMap<String, Bucket> buckets) {
+        this.buckets = buckets;
+        this.largestGroup = largest(bucket -> bucket.students.size());
+        this.largestGroupFirstName = largest(bucket -> bucket.firstNames.size());
+    }
+
+    static Collector<Student, ?, GroupReport> collector() {
+        return Collector.of(TreeMap::new, GroupReport::add, GroupReport::merge, GroupReport::new);
+    }
+
+    private static void add(NavigableMap<String, Bucket> buckets, Student student) {
+        buckets.computeIfAbsent(student.getGroup(), group -> new Bucket()).add(student);
+    }
+
+    private static NavigableMap<String, Bucket> merge(NavigableMap<String, Bucket> left,
+                                                      NavigableMap<String, Bucket> right) {
+        right.forEach((group, bucket) -> left.merge(group, bucket, Bucket::merge));
+        return left;
+    }
+
+    private String largest(ToIntFunction<Bucket> size) {
+        String largest = "";
+        int largestSize = 0;
+        for (Map.Entry<String, Bucket> entry : buckets.entrySet()) {
+            int currentSize = size.applyAsInt(entry.getValue());
+            if (currentSize > largestSize) {
+                largest = entry.getKey();
+                largestSize = currentSize;
+            }
+        }
+        return largest;
+    }
+
+    private List<Group> groups(Comparator<Student> comparator) {
+        return buckets.entrySet().stream()
+                .map(entry -> new Group(entry.getKey(), entry.getValue().sorted(comparator)))
+                .collect(Collectors.toUnmodifiableList());
+    }
+
+    public synchronized List<Group> getGroupsByName() {
+        if (groupsByName == null) {
+            groupsByName = groups(StudentDB.NAME_COMPARATOR);
+        }
+        return groupsByName;
+    }
+
+    public synchronized List<Group> getGroupsById() {
+        if (groupsById == null) {
+            groupsById = groups(Comparator.comparingInt(Student::getId));
+        }
+        return groupsById;
+    }
+
+    public String getLargestGroup() {
+        return largestGroup;
+    }
+
+    public String getLargestGroupFirstName() {
+        return largestGroupFirstName;
+    }
+
+    public int getGroupSize(String group) {
+        Bucket bucket = buckets.get(group);
+        return bucket == null ? 0 : bucket.students.size();
+    }
+
+    public int getGroupFirstNameCount(String group) {
+        Bucket bucket = buckets.get(group);
+        return bucket == null ? 0 : bucket.firstNames.size();
+    }
+
+    private static class Bucket {
+        private final List<Student> students = new ArrayList<>();
+        private final Set<String> firstNames = new HashSet<>();
+
+        void add(Student student) {
+            students.add(student);
+            firstNames.add(student.getFirstName());
+        }
+
+        Bucket merge(Bucket other) {
+            students.addAll(other.students);
+            firstNames.addAll(other.firstNames);
+            return this;
+        }
+
+        List<Student> sorted(Comparator<Student> comparator) {
+            Student[] sorted = students.toArray(new Student[0]);
+            Arrays.sort(sorted, comparator);
+            return List.of(sorted);
+        }
+    }
+}
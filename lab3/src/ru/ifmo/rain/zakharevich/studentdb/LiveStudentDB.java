@@ -0,0 +1,175 @@
+package ru.ifmo.rain.zakharevich.studentdb;
+
+import info.kgeorgiy.java.advanced.student.Student;
+
+import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+public class LiveStudentDB {
+
+    public interface ChangeListener {
+        void changed(long version, Student removed, Student added);
+    }
+
+    public static class Snapshot {
+        private final long version;
+        private final List<Student> students;
+
+        private Snapshot(long version, List<Student> students) {
+            this.version = version;
+            this.students = students;
+        }
+
+        public long getVersion() {
+            return version;
+        }
+
+        public List<Student> getStudents() {
+            return students;
+        }
+    }
+
+    private final NavigableMap<Integer, Student> studentsById = new TreeMap<>();
+    private final Map<String, NavigableSet<Student>> studentsByGroup = new HashMap<>();
+    private final NavigableMap<String, Integer> firstNameCounts = new TreeMap<>();
+    private final List<ChangeListener> listeners = new CopyOnWriteArrayList<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Lock dispatchLock = new ReentrantLock();
+    private long version;
+
+    public LiveStudentDB() {
+    }
+
+    public LiveStudentDB(Collection<Student> students) {
+        students.forEach(this::put);
+    }
+
+    public void addListener(ChangeListener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(ChangeListener listener) {
+        listeners.remove(listener);
+    }
+
+    public Student put(Student student) {
+        Student previous;
+        long changeVersion;
+        lock.writeLock().lock();
+        try {
+            previous = studentsById.put(student.getId(), student);
+            if (previous != null) {
+                unindex(previous);
+            }
+            index(student);
+            changeVersion = ++version;
+            dispatchLock.lock();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        changed(changeVersion, previous, student);
+        return previous;
+    }
+
+    public Student remove(int id) {
+        Student previous;
+        long changeVersion;
+        lock.writeLock().lock();
+        try {
+            previous = studentsById.remove(id);
+            if (previous == null) {
+                return null;
+            }
+            unindex(previous);
+            changeVersion = ++version;
+            dispatchLock.lock();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        changed(changeVersion, previous, null);
+        return previous;
+    }
+
+    private void index(Student student) {
+        studentsByGroup.computeIfAbsent(student.getGroup(), group -> new TreeSet<>(StudentDB.NAME_COMPARATOR))
+                .add(student);
+        firstNameCounts.merge(student.getFirstName(), 1, Integer::sum);
+    }
+
+    private void unindex(Student student) {
+        NavigableSet<Student> group = studentsByGroup.get(student.getGroup());
+        group.remove(student);
+        if (group.isEmpty()) {
+            studentsByGroup.remove(student.getGroup());
+        }
+        firstNameCounts.computeIfPresent(student.getFirstName(), (name, count) -> count == 1 ? null : count - 1);
+    }
+
+    // Called with dispatchLock held: it is taken before the write lock is released, so events keep version order
+    private void changed(long version, Student removed, Student added) {
+        try {
+            for (ChangeListener listener : listeners) {
+                try {
+                    listener.changed(version, removed, added);
+                } catch (RuntimeException e) {
+                    Thread thread = Thread.currentThread();
+                    thread.getUncaughtExceptionHandler().uncaughtException(thread, e);
+                }
+            }
+        } finally {
+            dispatchLock.unlock();
+        }
+    }
+
+    private <R> R read(Supplier<R> query) {
+        lock.readLock().lock();
+        try {
+            return query.get();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public long getVersion() {
+        return read(() -> version);
+    }
+
+    public int size() {
+        return read(studentsById::size);
+    }
+
+    public Student get(int id) {
+        return read(() -> studentsById.get(id));
+    }
+
+    public List<Student> getStudents() {
+        return read(() -> new ArrayList<>(studentsById.values()));
+    }
+
+    public Snapshot getSnapshot() {
+        return read(() -> new Snapshot(version, List.copyOf(studentsById.values())));
+    }
+
+    public Set<String> getDistinctFirstNames() {
+        return read(() -> new TreeSet<>(firstNameCounts.keySet()));
+    }
+
+    public String getMinStudentFirstName() {
+        return read(() -> studentsById.isEmpty() ? "" : studentsById.firstEntry().getValue().getFirstName());
+    }
+
+    public List<Student> findStudentsByGroup(String group) {
+        return read(() -> new ArrayList<>(studentsByGroup.getOrDefault(group, Collections.emptyNavigableSet())));
+    }
+
+    public Map<String, String> findStudentNamesByGroup(String group) {
+        return read(() -> studentsByGroup.getOrDefault(group, Collections.emptyNavigableSet()).stream()
+                .collect(Collectors.toMap(Student::getLastName, Student::getFirstName, (first, second) -> first)));
+    }
+}
@@ -0,0 +1,179 @@
+package ru.ifmo.rain.zakharevich.studentdb;
+
+import info.kgeorgiy.java.advanced.student.Student;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.function.IntPredicate;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+public class StudentColumns {
+
+    private final String[] firstNames;
+    private final String[] lastNames;
+    private final String[] groups;
+
+    private final int[] ids;
+    private final int[] firstNameCodes;
+    private final int[] lastNameCodes;
+    private final int[] groupCodes;
+
+    private final int[] byId;
+    private final int[] byName;
+    private final int[] lastNameStarts;
+
+    public StudentColumns(Collection<Student> students) {
+        firstNames = dictionary(students, Student::getFirstName);
+        lastNames = dictionary(students, Student::getLastName);
+        groups = dictionary(students, Student::getGroup);
+
+        int size = students.size();
+        ids = new int[size];
+        firstNameCodes = new int[size];
+        lastNameCodes = new int[size];
+        groupCodes = new int[size];
+        Map<String, Integer> firstNameIndex = codes(firstNames);
+        Map<String, Integer> lastNameIndex = codes(lastNames);
+        Map<String, Integer> groupIndex = codes(groups);
+        int row = 0;
+        for (Student student : students) {
+            ids[row] = student.getId();
+            firstNameCodes[row] = firstNameIndex.get(student.getFirstName());
+            lastNameCodes[row] = lastNameIndex.get(student.getLastName());
+            groupCodes[row] = groupIndex.get(student.getGroup());
+            row++;
+        }
+
+        byId = sortById();
+        lastNameStarts = new int[lastNames.length + 1];
+        byName = countingSort(countingSort(byId, firstNameCodes, firstNames.length, new int[firstNames.length + 1]),
+                lastNameCodes, lastNames.length, lastNameStarts);
+    }
+
+    private static String[] dictionary(Collection<Student> students, Function<Student, String> column) {
+        return students.stream().map(column).distinct().sorted().toArray(String[]::new);
+    }
+
+    private static Map<String, Integer> codes(String[] dictionary) {
+        Map<String, Integer> codes = new HashMap<>(dictionary.length * 4 / 3 + 1);
+        for (int i = 0; i < dictionary.length; i++) {
+            codes.put(dictionary[i], i);
+        }
+        return codes;
+    }
+
+    private int[] sortById() {
+        long[] keys = new long[ids.length];
+        for (int row = 0; row < ids.length; row++) {
+            keys[row] = (long) ids[row] << Integer.SIZE | row;
+        }
+        Arrays.sort(keys);
+        int[] order = new int[ids.length];
+        for (int i = 0; i < keys.length; i++) {
+            order[i] = (int) keys[i];
+        }
+        return order;
+    }
+
+    private static int[] countingSort(int[] order, int[] codes, int codeCount, int[] starts) {
+        for (int row : order) {
+            starts[codes[row] + 1]++;
+        }
+        for (int code = 0; code < codeCount; code++) {
+            starts[code + 1] += starts[code];
+        }
+        int[] positions = Arrays.copyOf(starts, codeCount);
+        int[] sorted = new int[order.length];
+        for (int row : order) {
+            sorted[positions[codes[row]]++] = row;
+        }
+        return sorted;
+    }
+
+    private static int code(String[] dictionary, String value) {
+        return Arrays.binarySearch(dictionary, value);
+    }
+
+    private Student student(int row) {
+        return new Student(ids[row], firstNames[firstNameCodes[row]], lastNames[lastNameCodes[row]],
+                groups[groupCodes[row]]);
+    }
+
+    private List<String> column(String[] dictionary, int[] codes) {
+        return Arrays.stream(codes).mapToObj(code -> dictionary[code]).collect(Collectors.toList());
+    }
+
+    private List<Student> students(IntStream rows) {
+        return rows.mapToObj(this::student).collect(Collectors.toList());
+    }
+
+    private IntStream byNameWhere(IntPredicate predicate) {
+        return Arrays.stream(byName).filter(predicate);
+    }
+
+    public int size() {
+        return ids.length;
+    }
+
+    public List<String> getFirstNames() {
+        return column(firstNames, firstNameCodes);
+    }
+
+    public List<String> getLastNames() {
+        return column(lastNames, lastNameCodes);
+    }
+
+    public List<String> getGroups() {
+        return column(groups, groupCodes);
+    }
+
+    public List<String> getFullNames() {
+        return IntStream.range(0, size())
+                .mapToObj(row -> firstNames[firstNameCodes[row]] + " " + lastNames[lastNameCodes[row]])
+                .collect(Collectors.toList());
+    }
+
+    public Set<String> getDistinctFirstNames() {
+        return new TreeSet<>(Arrays.asList(firstNames));
+    }
+
+    public String getMinStudentFirstName() {
+        return size() == 0 ? "" : firstNames[firstNameCodes[byId[0]]];
+    }
+
+    public List<Student> sortStudentsById() {
+        return students(Arrays.stream(byId));
+    }
+
+    public List<Student> sortStudentsByName() {
+        return students(Arrays.stream(byName));
+    }
+
+    public List<Student> findStudentsByFirstName(String name) {
+        int code = code(firstNames, name);
+        return code < 0 ? new ArrayList<>() : students(byNameWhere(row -> firstNameCodes[row] == code));
+    }
+
+    public List<Student> findStudentsByLastName(String name) {
+        int code = code(lastNames, name);
+        return code < 0
+                ? new ArrayList<>()
+                : students(Arrays.stream(byName, lastNameStarts[code], lastNameStarts[code + 1]));
+    }
+
+    public List<Student> findStudentsByGroup(String group) {
+        int code = code(groups, group);
+        return code < 0 ? new ArrayList<>() : students(byNameWhere(row -> groupCodes[row] == code));
+    }
+
+    public Map<String, String> findStudentNamesByGroup(String group) {
+        int code = code(groups, group);
+        if (code < 0) {
+            return new HashMap<>();
+        }
+        return byNameWhere(row -> groupCodes[row] == code).boxed()
+                .collect(Collectors.toMap(row -> lastNames[lastNameCodes[row]], row -> firstNames[firstNameCodes[row]],
+                        (first, second) -> first));
+    }
+}
@@ -1,22 +1,67 @@
 package ru.ifmo.rain.zakharevich.studentdb;
 
+import info.kgeorgiy.java.advanced.student.Group;
 import info.kgeorgiy.java.advanced.student.Student;
 import info.kgeorgiy.java.advanced.student.StudentGroupQuery;
-import info.kgeorgiy.java.advanced.student.StudentQuery;
 
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.BinaryOperator;
 import java.util.function.Function;
 import java.util.function.Predicate;
+import java.util.stream.Collector;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
-public class StudentDB implements StudentQuery {
+public class StudentDB implements StudentGroupQuery, AutoCloseable {
 
-    private Comparator<Student> NAME_COMPARATOR = Comparator.comparing(Student::getLastName)
+    final static Comparator<Student> NAME_COMPARATOR = Comparator.comparing(Student::getLastName)
             .thenComparing(Student::getFirstName)
             .thenComparing(Student::getId);
 
+    private final int parallelThreshold;
+    private final ForkJoinPool pool;
+    private final boolean ownsPool;
+
+    public StudentDB() {
+        this(Integer.MAX_VALUE, null, false);
+    }
+
+    public StudentDB(int parallelThreshold, int threads) {
+        this(checkThreshold(parallelThreshold), newPool(threads), true);
+    }
+
+    public StudentDB(int parallelThreshold, ForkJoinPool pool) {
+        this(checkThreshold(parallelThreshold), Objects.requireNonNull(pool), false);
+    }
+
+    private StudentDB(int parallelThreshold, ForkJoinPool pool, boolean ownsPool) {
+        this.parallelThreshold = parallelThreshold;
+        this.pool = pool;
+        this.ownsPool = ownsPool;
+    }
+
+    private static int checkThreshold(int parallelThreshold) {
+        if (parallelThreshold < 0) {
+            throw new IllegalArgumentException("Parallel threshold must be non-negative");
+        }
+        return parallelThreshold;
+    }
+
+    private static ForkJoinPool newPool(int threads) {
+        if (threads <= 0) {
+            throw new IllegalArgumentException("Threads number must be positive");
+        }
+        return new ForkJoinPool(threads);
+    }
+
+    @Override
+    public void close() {
+        if (ownsPool) {
+            pool.shutdown();
+        }
+    }
+
     @Override
     public List<String> getFirstNames(List<Student> students) {
         return mappedList(students, Student::getFirstName);
@@ -39,17 +84,17 @@ public class StudentDB implements StudentQuery {
 
     @Override
     public Set<String> getDistinctFirstNames(List<Student> students) {
-        return students.stream()
+        return execute(students, stream -> stream
                 .map(Student::getFirstName)
-                .collect(Collectors.toCollection(TreeSet::new));
+                .collect(Collectors.toCollection(TreeSet::new)));
     }
 
     @Override
     public String getMinStudentFirstName(List<Student> students) {
-        return students.stream()
+        return execute(students, stream -> stream
                 .min(Comparator.comparingInt(Student::getId))
                 .map(Student::getFirstName)
-                .orElse("");
+                .orElse(""));
     }
 
     @Override
@@ -64,36 +109,106 @@ public class StudentDB implements StudentQuery {
 
     @Override
     public List<Student> findStudentsByFirstName(Collection<Student> students, String name) {
-        return filteredSortedList(students, student -> student.getFirstName().equals(name), NAME_COMPARATOR);
+        return filteredSortedList(students, hasFirstName(name), NAME_COMPARATOR);
     }
 
     @Override
     public List<Student> findStudentsByLastName(Collection<Student> students, String name) {
-        return filteredSortedList(students, student -> student.getLastName().equals(name), NAME_COMPARATOR);
+        return filteredSortedList(students, hasLastName(name), NAME_COMPARATOR);
     }
 
     @Override
     public List<Student> findStudentsByGroup(Collection<Student> students, String group) {
-        return filteredSortedList(students, student -> student.getGroup().equals(group), NAME_COMPARATOR);
+        return filteredSortedList(students, hasGroup(group), NAME_COMPARATOR);
     }
 
     @Override
     public Map<String, String> findStudentNamesByGroup(Collection<Student> students, String group) {
-        return students.stream()
-                .filter(student -> student.getGroup().equals(group))
-                .collect(Collectors.toMap(Student::getLastName, Student::getFirstName, BinaryOperator.minBy(String::compareTo)));
+        return execute(students, stream -> stream
+                .filter(hasGroup(group))
+                .collect(Collectors.toMap(Student::getLastName, Student::getFirstName, BinaryOperator.minBy(String::compareTo))));
     }
 
-    private Stream<String> map(List<Student> students, Function<Student, String> mapper) {
-        return students.stream().map(mapper);
+    public List<Student> sortStudentsByName(Collection<Student> students, int offset, int limit) {
+        return page(students, student -> true, offset, limit);
     }
 
-    private List<String> mappedList(List<Student> students, Function<Student, String> mapper) {
-        return map(students, mapper).collect(Collectors.toList());
+    public List<Student> findStudentsByFirstName(Collection<Student> students, String name, int offset, int limit) {
+        return page(students, hasFirstName(name), offset, limit);
+    }
+
+    public List<Student> findStudentsByLastName(Collection<Student> students, String name, int offset, int limit) {
+        return page(students, hasLastName(name), offset, limit);
+    }
+
+    public List<Student> findStudentsByGroup(Collection<Student> students, String group, int offset, int limit) {
+        return page(students, hasGroup(group), offset, limit);
+    }
+
+    public List<Student> sortStudentsByNameAfter(Collection<Student> students, Student after, int limit) {
+        return pageAfter(students, student -> true, after, limit);
+    }
+
+    public List<Student> findStudentsByFirstNameAfter(Collection<Student> students, String name,
+                                                      Student after, int limit) {
+        return pageAfter(students, hasFirstName(name), after, limit);
+    }
+
+    public List<Student> findStudentsByLastNameAfter(Collection<Student> students, String name,
+                                                     Student after, int limit) {
+        return pageAfter(students, hasLastName(name), after, limit);
+    }
+
+    public List<Student> findStudentsByGroupAfter(Collection<Student> students, String group,
+                                                  Student after, int limit) {
+        return pageAfter(students, hasGroup(group), after, limit);
+    }
+
+    public GroupReport getGroupReport(Collection<Student> students) {
+        return execute(students, stream -> stream.collect(GroupReport.collector()));
     }
 
-    private Stream<Student> filter(Collection<Student> students, Predicate<Student> predicate) {
-        return students.stream().filter(predicate);
+    @Override
+    public List<Group> getGroupsByName(Collection<Student> students) {
+        return getGroupReport(students).getGroupsByName();
+    }
+
+    @Override
+    public List<Group> getGroupsById(Collection<Student> students) {
+        return getGroupReport(students).getGroupsById();
+    }
+
+    @Override
+    public String getLargestGroup(Collection<Student> students) {
+        return getGroupReport(students).getLargestGroup();
+    }
+
+    @Override
+    public String getLargestGroupFirstName(Collection<Student> students) {
+        return getGroupReport(students).getLargestGroupFirstName();
+    }
+
+    private static Predicate<Student> hasFirstName(String name) {
+        return student -> student.getFirstName().equals(name);
+    }
+
+    private static Predicate<Student> hasLastName(String name) {
+        return student -> student.getLastName().equals(name);
+    }
+
+    private static Predicate<Student> hasGroup(String group) {
+        return student -> student.getGroup().equals(group);
+    }
+
+    private <R> R execute(Collection<Student> students, Function<Stream<Student>, R> query) {
+        if (pool == null || students.size() < parallelThreshold) {
+            return query.apply(students.stream());
+        }
+        return pool.submit(() -> query.apply(students.parallelStream())).join();
+    }
+
+    private List<String> mappedList(List<Student> students, Function<Student, String> mapper) {
+        return execute(students, stream -> stream.map(mapper).collect(Collectors.toList()));
     }
 
     private List<Student> sortedList(Stream<Student> stream, Comparator<Student> comparator) {
@@ -101,11 +216,61 @@ public class StudentDB implements StudentQuery {
     }
 
     private List<Student> sortedList(Collection<Student> students, Comparator<Student> comparator) {
-        return sortedList(students.stream(), comparator);
+        return execute(students, stream -> sortedList(stream, comparator));
     }
 
     private List<Student> filteredSortedList(Collection<Student> students, Predicate<Student> predicate,
                                              Comparator<Student> comparator) {
-        return sortedList(filter(students, predicate), comparator);
+        return execute(students, stream -> sortedList(stream.filter(predicate), comparator));
+    }
+
+    private static void offer(PriorityQueue<Student> heap, Student student, Comparator<Student> comparator, int count) {
+        if (heap.size() < count) {
+            heap.add(student);
+        } else if (count > 0 && comparator.compare(student, heap.peek()) < 0) {
+            heap.poll();
+            heap.add(student);
+        }
+    }
+
+    private static Collector<Student, ?, List<Student>> smallest(Comparator<Student> comparator, int count) {
+        return Collector.of(
+                () -> new PriorityQueue<>(comparator.reversed()),
+                (heap, student) -> offer(heap, student, comparator, count),
+                (left, right) -> {
+                    right.forEach(student -> offer(left, student, comparator, count));
+                    return left;
+                },
+                heap -> {
+                    List<Student> sorted = new ArrayList<>(heap);
+                    sorted.sort(comparator);
+                    return sorted;
+                });
+    }
+
+    private static void checkPage(int offset, int limit) {
+        if (offset < 0 || limit < 0) {
+            throw new IllegalArgumentException("Offset and limit must be non-negative");
+        }
+    }
+
+    private List<Student> page(Collection<Student> students, Predicate<Student> predicate, int offset, int limit) {
+        checkPage(offset, limit);
+        int count = (int) Math.min((long) offset + limit, Integer.MAX_VALUE);
+        List<Student> smallest = execute(students, stream -> stream
+                .filter(predicate)
+                .collect(smallest(NAME_COMPARATOR, count)));
+        return new ArrayList<>(smallest.subList(Math.min(offset, smallest.size()), smallest.size()));
+    }
+
+    private List<Student> pageAfter(Collection<Student> students, Predicate<Student> predicate,
+                                    Student after, int limit) {
+        checkPage(0, limit);
+        Predicate<Student> afterPredicate = after == null
+                ? predicate
+                : predicate.and(student -> NAME_COMPARATOR.compare(student, after) > 0);
+        return execute(students, stream -> stream
+                .filter(afterPredicate)
+                .collect(smallest(NAME_COMPARATOR, limit)));
     }
 }
@@ -0,0 +1,59 @@
+package ru.ifmo.rain.zakharevich.studentdb;
+
+import info.kgeorgiy.java.advanced.student.Student;
+
+import java.util.*;
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+public class StudentIndex {
+
+    private final List<Student> studentsByName;
+    private final Map<String, List<Student>> studentsByGroup;
+    private final Map<String, List<Student>> studentsByFirstName;
+    private final Map<String, List<Student>> studentsByLastName;
+
+    public StudentIndex(Collection<Student> students) {
+        studentsByName = Collections.unmodifiableList(students.stream()
+                .sorted(StudentDB.NAME_COMPARATOR)
+                .collect(Collectors.toList()));
+        studentsByGroup = index(Student::getGroup);
+        studentsByFirstName = index(Student::getFirstName);
+        studentsByLastName = index(Student::getLastName);
+    }
+
+    private Map<String, List<Student>> index(Function<Student, String> key) {
+        return studentsByName.stream().collect(Collectors.groupingBy(key, HashMap::new,
+                Collectors.collectingAndThen(Collectors.toList(), Collections::unmodifiableList)));
+    }
+
+    private static List<Student> lookup(Map<String, List<Student>> index, String key) {
+        return index.getOrDefault(key, Collections.emptyList());
+    }
+
+    public int size() {
+        return studentsByName.size();
+    }
+
+    public List<Student> sortStudentsByName() {
+        return studentsByName;
+    }
+
+    public List<Student> findStudentsByFirstName(String name) {
+        return lookup(studentsByFirstName, name);
+    }
+
+    public List<Student> findStudentsByLastName(String name) {
+        return lookup(studentsByLastName, name);
+    }
+
+    public List<Student> findStudentsByGroup(String group) {
+        return lookup(studentsByGroup, group);
+    }
+
+    public Map<String, String> findStudentNamesByGroup(String group) {
+        return findStudentsByGroup(group).stream()
+                .collect(Collectors.toMap(Student::getLastName, Student::getFirstName, BinaryOperator.minBy(String::compareTo)));
+    }
+}
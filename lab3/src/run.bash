@@ -1 +1 @@
-java -cp . -p . -m info.kgeorgiy.java.advanced.student StudentQuery ru.ifmo.rain.zakharevich.studentdb.StudentDB
\ No newline at end of file
+java -cp . -p . -m info.kgeorgiy.java.advanced.student StudentGroupQuery ru.ifmo.rain.zakharevich.studentdb.StudentDB
\ No newline at end of file